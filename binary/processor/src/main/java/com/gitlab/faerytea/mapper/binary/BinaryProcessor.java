@@ -0,0 +1,256 @@
+/*
+ * Copyright © 2020 Valery Maevsky
+ * mailto:faerytea@gmail.com
+ *
+ * This file is part of Mapper Generators.
+ *
+ * Mapper Generators is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * Mapper Generators is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Mapper Generators.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.gitlab.faerytea.mapper.binary;
+
+import com.gitlab.faerytea.mapper.gen.AdapterInfo;
+import com.gitlab.faerytea.mapper.gen.ConcreteTypeResolver;
+import com.gitlab.faerytea.mapper.gen.FieldData;
+import com.gitlab.faerytea.mapper.gen.GeneratedResultInfo;
+import com.gitlab.faerytea.mapper.gen.GeneratingException;
+import com.gitlab.faerytea.mapper.gen.InstanceData;
+import com.gitlab.faerytea.mapper.gen.SimpleJsonGenerator;
+import com.gitlab.faerytea.mapper.gen.TypeInfo;
+import com.gitlab.faerytea.mapper.gen.ValidatorInfo;
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.CodeBlock;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * Generator for compact binary format of {@code BinaryInput} / {@code BinaryOutput}.
+ * Properties are written as numeric tags, which are indices of properties
+ * in declaration order, so new properties must be added after existing ones
+ * to keep previously written data readable. Unknown tags are skipped.
+ */
+public class BinaryProcessor extends SimpleJsonGenerator {
+    private static final String RUNTIME = "com.gitlab.faerytea.mapper.binary";
+    private static final CodeBlock INITIAL_ADVANCE = CodeBlock.builder()
+            .beginControlFlow("if (in.readNull())")
+            .addStatement("return null")
+            .endControlFlow()
+            .addStatement("in.beginObject()")
+            .build();
+    private static final CodeBlock FINAL_MOVE = CodeBlock.builder()
+            // trailing properties are skipped at once
+            .addStatement("in.endContainer()")
+            .build();
+    private static final CodeBlock SKIP_VALUE = CodeBlock.builder()
+            .addStatement("in.skipValue()")
+            .build();
+    private static final CodeBlock START_OBJECT = CodeBlock.builder()
+            .beginControlFlow("if (object == null)")
+            .addStatement("destination.writeNull()")
+            .addStatement("return")
+            .endControlFlow()
+            .addStatement("destination.beginObject()")
+            .build();
+    private static final CodeBlock END_OBJECT = CodeBlock.builder()
+            .addStatement("destination.endObject()")
+            .build();
+    private static final CodeBlock EMPTY = CodeBlock.of("");
+    private static final CodeBlock INPUT_POSITION = CodeBlock.of("in.position()");
+    private static final CodeBlock OUTPUT_POSITION = CodeBlock.of("destination.size()");
+    private static final AdapterInfo SKIP_UNKNOWN = new AdapterInfo(
+            RUNTIME + ".unknown.SkipUnknown",
+            new InstanceData(RUNTIME + ".unknown.SkipUnknown", "INSTANCE", false));
+    private final Map<TypeInfo, AdapterInfo> defaultMappers = new HashMap<>();
+    /**
+     * Properties of class which is being generated, index is a tag
+     */
+    private List<String> properties = Collections.emptyList();
+
+    public BinaryProcessor(@NotNull ProcessingEnvironment env) throws GeneratingException {
+        super(env, RUNTIME + ".BinaryInput", RUNTIME + ".BinaryOutput");
+        putTp(RUNTIME + ".primitives.StringMapper", typeFrom(String.class));
+        putPrim(TypeKind.BOOLEAN);
+        putPrim(TypeKind.INT);
+        putPrim(TypeKind.LONG);
+        putPrim(TypeKind.DOUBLE);
+        putPrimArray(TypeKind.BOOLEAN);
+        putPrimArray(TypeKind.INT);
+        putPrimArray(TypeKind.LONG);
+        putPrimArray(TypeKind.DOUBLE);
+        putClass(ArrayList.class);
+        putClass(List.class);
+        putClass(Set.class);
+        putClass(Map.class);
+    }
+
+    @NotNull
+    @Override
+    public GeneratedResultInfo generateFor(@NotNull TypeElement targetType,
+                                           @NotNull Map<@NotNull String, @NotNull FieldData> fields,
+                                           @NotNull AdapterInfo onUnknown,
+                                           @Nullable ValidatorInfo validator) throws GeneratingException, IOException {
+        return generateFor(targetType, fields, onUnknown, validator, Collections.emptyMap());
+    }
+
+    @NotNull
+    @Override
+    public GeneratedResultInfo generateFor(@NotNull TypeElement targetType,
+                                           @NotNull Map<@NotNull String, @NotNull FieldData> fields,
+                                           @NotNull AdapterInfo onUnknown,
+                                           @Nullable ValidatorInfo validator,
+                                           @NotNull Map<@NotNull String, @NotNull List<@NotNull String>> projections) throws GeneratingException, IOException {
+        properties = new ArrayList<>(fields.keySet());
+        try {
+            return super.generateFor(targetType, fields, onUnknown, validator, projections);
+        } finally {
+            properties = Collections.emptyList();
+        }
+    }
+
+    @NotNull
+    @Override
+    public GeneratedResultInfo generateFor(@NotNull TypeElement targetType,
+                                           @NotNull ConcreteTypeResolver resolver,
+                                           boolean markAsDefault,
+                                           @Nullable ValidatorInfo validator) throws GeneratingException, IOException {
+        // subtypes are written by names
+        properties = Collections.emptyList();
+        return super.generateFor(targetType, resolver, markAsDefault, validator);
+    }
+
+    @Override
+    protected @NotNull CodeBlock initialAdvance() {
+        return INITIAL_ADVANCE;
+    }
+
+    @Override
+    protected @NotNull CodeBlock nextName() {
+        return nextName(Collections.emptyList());
+    }
+
+    @Override
+    protected @NotNull CodeBlock nextName(@NotNull Collection<@NotNull String> expected) {
+        // tags are always resolved against all properties, even for projections
+        final String table = constant(ArrayTypeName.of(String.class), "TAGS", CodeBlock.of("new String[]{$L}",
+                properties.stream().map(n -> CodeBlock.of("$S", n).toString()).collect(Collectors.joining(", "))));
+        return CodeBlock.of("name = in.nextName($L);\n", table);
+    }
+
+    @Override
+    protected boolean canPredictNames() {
+        return true;
+    }
+
+    @Override
+    protected @NotNull CodeBlock nameIs(@NotNull String expected) {
+        // known names are instances from tags table, i.e. literals
+        return CodeBlock.of("name == $L", expected);
+    }
+
+    @Override
+    protected @NotNull CodeBlock skipValue() {
+        return SKIP_VALUE;
+    }
+
+    @Override
+    protected @NotNull CodeBlock finalMove() {
+        return FINAL_MOVE;
+    }
+
+    @Override
+    protected @NotNull CodeBlock startObject() {
+        return START_OBJECT;
+    }
+
+    @Override
+    protected @NotNull CodeBlock endObject() {
+        return END_OBJECT;
+    }
+
+    @Override
+    protected @NotNull CodeBlock writeProperty(String name) {
+        final int tag = properties.indexOf(name);
+        return tag == -1
+                ? CodeBlock.of("destination.writeName($S);\n", name)
+                : CodeBlock.of("destination.writeTag($L);\n", tag);
+    }
+
+    @Override
+    protected CodeBlock writeDelimiter() {
+        return EMPTY;
+    }
+
+    @Override
+    protected @Nullable CodeBlock inputPosition() {
+        return INPUT_POSITION;
+    }
+
+    @Override
+    protected @Nullable CodeBlock outputPosition() {
+        return OUTPUT_POSITION;
+    }
+
+    @Override
+    public @NotNull Map<TypeInfo, AdapterInfo> getDefaultParsers() {
+        return defaultMappers;
+    }
+
+    @Override
+    public @NotNull Map<TypeInfo, AdapterInfo> getDefaultSerializers() {
+        return defaultMappers;
+    }
+
+    @Override
+    public @NotNull AdapterInfo getDefaultUnknownPropertyHandler() {
+        return SKIP_UNKNOWN;
+    }
+
+    private void putPrim(TypeKind tp) {
+        String name = tp.name();
+        putTp(RUNTIME + ".primitives." + (name.charAt(0) + name.substring(1).toLowerCase()) + "Mapper",
+                typeUtils.getPrimitiveType(tp));
+    }
+
+    private void putPrimArray(TypeKind tp) {
+        String name = tp.name();
+        putTp(RUNTIME + ".collections." + (name.charAt(0) + name.substring(1).toLowerCase()) + "ArrayMapper",
+                typeUtils.getArrayType(typeUtils.getPrimitiveType(tp)));
+    }
+
+    private void putClass(Class<?> cls) {
+        String name = cls.getSimpleName();
+        putTp(RUNTIME + ".collections." + name + "Mapper", typeFrom(cls));
+    }
+
+    private void putTp(String className, TypeMirror type) {
+        defaultMappers.put(
+                TypeInfo.from(type),
+                new AdapterInfo(className, new InstanceData(className, "INSTANCE", false)));
+    }
+}
@@ -0,0 +1,197 @@
+package com.gitlab.faerytea.mapper.binary;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static com.gitlab.faerytea.mapper.binary.BinaryOutput.*;
+
+// Reads what BinaryOutput writes. Values are consumed by read* methods;
+// inside of containers hasNext / nextName tell whether something is left.
+// Not thread-safe.
+public class BinaryInput {
+    private final byte[] buf;
+    private int pos;
+    private int limit;
+    // limits of enclosing containers
+    private int[] limits = new int[8];
+    private int depth;
+
+    public BinaryInput(byte[] data) {
+        this(data, 0, data.length);
+    }
+
+    public BinaryInput(byte[] data, int offset, int length) {
+        this.buf = data;
+        this.pos = offset;
+        this.limit = offset + length;
+    }
+
+    // consumes remaining bytes of buffer
+    public static BinaryInput of(ByteBuffer data) {
+        final BinaryInput res;
+        if (data.hasArray()) {
+            res = new BinaryInput(data.array(), data.arrayOffset() + data.position(), data.remaining());
+            data.position(data.limit());
+        } else {
+            final byte[] copy = new byte[data.remaining()];
+            data.get(copy);
+            res = new BinaryInput(copy);
+        }
+        return res;
+    }
+
+    // type of next value
+    public int peek() throws IOException {
+        if (pos >= limit) throw error("unexpected end of data");
+        return buf[pos];
+    }
+
+    // consumes null if it is next value
+    public boolean readNull() throws IOException {
+        if (peek() != NULL) return false;
+        ++pos;
+        return true;
+    }
+
+    // bytes consumed so far, counting from start of data array
+    public int position() {
+        return pos;
+    }
+
+    public boolean hasNext() {
+        return pos < limit;
+    }
+
+    public void beginObject() throws IOException {
+        begin(OBJECT);
+    }
+
+    public void beginArray() throws IOException {
+        begin(ARRAY);
+    }
+
+    // skips the rest of container
+    public void endContainer() throws IOException {
+        if (depth == 0) throw error("no container to end");
+        pos = limit;
+        limit = limits[--depth];
+    }
+
+    // Name of next property or null at the end of object.
+    // Known tags are resolved to instances from names.
+    public String nextName(String[] names) throws IOException {
+        if (pos >= limit) return null;
+        final long tag = readVarint();
+        if ((tag & 1) == 0) {
+            final long index = (tag >>> 1) - 1;
+            // property from newer version of class, will be skipped as unknown
+            return index < names.length ? names[(int) index] : "#" + index;
+        }
+        return readUtf8((int) (tag >>> 1));
+    }
+
+    public boolean readBoolean() throws IOException {
+        final int type = peek();
+        if (type != TRUE && type != FALSE) throw error("expected boolean, got type " + type);
+        ++pos;
+        return type == TRUE;
+    }
+
+    public int readInt() throws IOException {
+        final long res = readLong();
+        if (res < Integer.MIN_VALUE || res > Integer.MAX_VALUE) throw error("int overflow: " + res);
+        return (int) res;
+    }
+
+    public long readLong() throws IOException {
+        expect(INT);
+        final long zigzag = readVarint();
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    public double readDouble() throws IOException {
+        if (peek() == INT) return readLong();
+        expect(DOUBLE);
+        if (limit - pos < 8) throw error("unexpected end of data");
+        long bits = 0;
+        for (int i = 0; i < 8; ++i) {
+            bits = (bits << 8) | (buf[pos++] & 0xFF);
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    public String readString() throws IOException {
+        if (readNull()) return null;
+        expect(STRING);
+        return readUtf8((int) readVarint());
+    }
+
+    public void skipValue() throws IOException {
+        final int type = peek();
+        ++pos;
+        switch (type) {
+            case NULL:
+            case FALSE:
+            case TRUE:
+                break;
+            case INT:
+                readVarint();
+                break;
+            case DOUBLE:
+                pos += 8;
+                break;
+            case STRING:
+            case ARRAY:
+            case OBJECT:
+                final long length = readVarint();
+                pos += (int) length;
+                break;
+            default:
+                throw error("unknown type " + type);
+        }
+        if (pos > limit) throw error("unexpected end of data");
+    }
+
+    public IOException error(String message) {
+        return new IOException(message + " at byte " + pos);
+    }
+
+    private void begin(int type) throws IOException {
+        expect(type);
+        final int length = (int) readVarint();
+        if (pos + length > limit) throw error("unexpected end of data");
+        if (depth == limits.length) limits = Arrays.copyOf(limits, depth << 1);
+        limits[depth++] = limit;
+        limit = pos + length;
+    }
+
+    private void expect(int type) throws IOException {
+        final int got = peek();
+        if (got != type) throw error("expected type " + type + ", got " + got);
+        ++pos;
+    }
+
+    private long readVarint() throws IOException {
+        long res = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (pos >= limit) throw error("unexpected end of data");
+            final byte b = buf[pos++];
+            res |= (long) (b & 0x7F) << shift;
+            if (b >= 0) return res;
+        }
+        throw error("malformed varint");
+    }
+
+    private String readUtf8(int length) throws IOException {
+        if (limit - pos < length) throw error("unexpected end of data");
+        try {
+            return new String(buf, pos, length, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new AssertionError(e);
+        } finally {
+            pos += length;
+        }
+    }
+}
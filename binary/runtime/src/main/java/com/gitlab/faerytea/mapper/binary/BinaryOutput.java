@@ -0,0 +1,187 @@
+package com.gitlab.faerytea.mapper.binary;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.util.Arrays;
+
+// Compact self-describing format: every value starts with type byte,
+// integers are zigzag varints, objects and arrays are prefixed with
+// their length in bytes, so readers can skip them in one step.
+// Properties are varint tags: (index + 1) << 1 for known properties,
+// (length << 1) | 1 followed by UTF-8 name otherwise. Not thread-safe.
+public class BinaryOutput {
+    public static final int NULL = 0;
+    public static final int FALSE = 1;
+    public static final int TRUE = 2;
+    public static final int INT = 3;
+    public static final int DOUBLE = 4;
+    public static final int STRING = 5;
+    public static final int ARRAY = 6;
+    public static final int OBJECT = 7;
+
+    private byte[] buf;
+    private int size;
+    // positions of length slots of unfinished containers
+    private int[] open = new int[8];
+    private int depth;
+
+    public BinaryOutput() {
+        this(256);
+    }
+
+    public BinaryOutput(int capacity) {
+        buf = new byte[Math.max(capacity, 16)];
+    }
+
+    public void writeNull() {
+        writeByte(NULL);
+    }
+
+    public void writeBoolean(boolean value) {
+        writeByte(value ? TRUE : FALSE);
+    }
+
+    public void writeInt(int value) {
+        writeLong(value);
+    }
+
+    public void writeLong(long value) {
+        ensure(11);
+        buf[size++] = INT;
+        writeVarint((value << 1) ^ (value >> 63));
+    }
+
+    public void writeDouble(double value) {
+        ensure(9);
+        buf[size++] = DOUBLE;
+        final long bits = Double.doubleToLongBits(value);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buf[size++] = (byte) (bits >>> shift);
+        }
+    }
+
+    public void writeString(String value) {
+        if (value == null) {
+            writeNull();
+            return;
+        }
+        final int length = value.length();
+        int ascii = 0;
+        while (ascii < length && value.charAt(ascii) < 0x80) ++ascii;
+        if (ascii == length) {
+            ensure(length + 6);
+            buf[size++] = STRING;
+            writeVarint(length);
+            for (int i = 0; i < length; ++i) {
+                buf[size++] = (byte) value.charAt(i);
+            }
+        } else {
+            final byte[] bytes = utf8(value);
+            ensure(bytes.length + 6);
+            buf[size++] = STRING;
+            writeVarint(bytes.length);
+            System.arraycopy(bytes, 0, buf, size, bytes.length);
+            size += bytes.length;
+        }
+    }
+
+    public void beginObject() {
+        begin(OBJECT);
+    }
+
+    public void endObject() {
+        end();
+    }
+
+    public void beginArray() {
+        begin(ARRAY);
+    }
+
+    public void endArray() {
+        end();
+    }
+
+    public void writeTag(int index) {
+        ensure(5);
+        writeVarint((long) (index + 1) << 1);
+    }
+
+    public void writeName(String name) {
+        final byte[] bytes = utf8(name);
+        ensure(bytes.length + 5);
+        writeVarint(((long) bytes.length << 1) | 1);
+        System.arraycopy(bytes, 0, buf, size, bytes.length);
+        size += bytes.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void reset() {
+        size = 0;
+        depth = 0;
+    }
+
+    public byte[] toByteArray() {
+        if (depth != 0) throw new IllegalStateException(depth + " containers are not closed");
+        return Arrays.copyOf(buf, size);
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        if (depth != 0) throw new IllegalStateException(depth + " containers are not closed");
+        out.write(buf, 0, size);
+    }
+
+    private void begin(int type) {
+        ensure(2);
+        buf[size++] = (byte) type;
+        if (depth == open.length) open = Arrays.copyOf(open, depth << 1);
+        // most containers are shorter than 128 bytes, so single byte is reserved
+        open[depth++] = size++;
+    }
+
+    private void end() {
+        final int slot = open[--depth];
+        final int length = size - slot - 1;
+        int varintSize = 1;
+        for (int rest = length >>> 7; rest != 0; rest >>>= 7) ++varintSize;
+        if (varintSize > 1) {
+            ensure(varintSize - 1);
+            System.arraycopy(buf, slot + 1, buf, slot + varintSize, length);
+        }
+        final int end = size + varintSize - 1;
+        size = slot;
+        writeVarint(length);
+        size = end;
+    }
+
+    private void writeByte(int b) {
+        ensure(1);
+        buf[size++] = (byte) b;
+    }
+
+    // capacity must be ensured by caller
+    private void writeVarint(long value) {
+        while ((value & ~0x7FL) != 0) {
+            buf[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buf[size++] = (byte) value;
+    }
+
+    private void ensure(int more) {
+        if (size + more > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length << 1, size + more));
+        }
+    }
+
+    private static byte[] utf8(String value) {
+        try {
+            return value.getBytes("UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
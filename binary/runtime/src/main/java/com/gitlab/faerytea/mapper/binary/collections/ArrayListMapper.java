@@ -0,0 +1,81 @@
+package com.gitlab.faerytea.mapper.binary.collections;
+
+import com.gitlab.faerytea.mapper.adapters.CollectionsMapper;
+import com.gitlab.faerytea.mapper.adapters.MappingAdapter;
+import com.gitlab.faerytea.mapper.adapters.Parser;
+import com.gitlab.faerytea.mapper.adapters.Serializer;
+import com.gitlab.faerytea.mapper.annotations.DefaultMapper;
+import com.gitlab.faerytea.mapper.annotations.Instance;
+import com.gitlab.faerytea.mapper.binary.BinaryInput;
+import com.gitlab.faerytea.mapper.binary.BinaryOutput;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+@DefaultMapper
+public class ArrayListMapper implements CollectionsMapper<ArrayList, BinaryInput, BinaryOutput> {
+    @Instance
+    public static final ArrayListMapper INSTANCE = new ArrayListMapper();
+
+    @Override
+    public <T> MappingAdapter<ArrayList<T>, BinaryInput, BinaryOutput> apply(final MappingAdapter<T, BinaryInput, BinaryOutput> itemMapper) {
+        return new MappingAdapter<ArrayList<T>, BinaryInput, BinaryOutput>() {
+            @Override
+            public ArrayList<T> toObject(BinaryInput source) throws IOException {
+                return ArrayListMapper.this.toObject(source, itemMapper);
+            }
+
+            @Override
+            public void write(ArrayList<T> object, BinaryOutput to) throws IOException {
+                ArrayListMapper.this.write(object, to, itemMapper);
+            }
+        };
+    }
+
+    @Override
+    public <T> ArrayList<T> toObject(BinaryInput source, Parser<T, BinaryInput> itemParser) throws IOException {
+        if (source.readNull()) return null;
+        source.beginArray();
+        final ArrayList<T> res = new ArrayList<T>();
+        while (source.hasNext()) {
+            res.add(itemParser.toObject(source));
+        }
+        source.endContainer();
+        return res;
+    }
+
+    @Override
+    public <T> Parser<ArrayList<T>, BinaryInput> apply(final Parser<T, BinaryInput> itemParser) {
+        return new Parser<ArrayList<T>, BinaryInput>() {
+            @Override
+            public ArrayList<T> toObject(BinaryInput source) throws IOException {
+                return ArrayListMapper.this.toObject(source, itemParser);
+            }
+        };
+    }
+
+    @Override
+    public <T> void write(ArrayList object, BinaryOutput to, Serializer<T, BinaryOutput> itemSerializer) throws IOException {
+        if (object == null) {
+            to.writeNull();
+            return;
+        }
+        to.beginArray();
+        @SuppressWarnings("unchecked")
+        ArrayList<T> actual = object;
+        for (T i : actual) {
+            itemSerializer.write(i, to);
+        }
+        to.endArray();
+    }
+
+    @Override
+    public <T> Serializer<ArrayList<T>, BinaryOutput> apply(final Serializer<T, BinaryOutput> itemSerializer) {
+        return new Serializer<ArrayList<T>, BinaryOutput>() {
+            @Override
+            public void write(ArrayList<T> object, BinaryOutput to) throws IOException {
+                ArrayListMapper.this.write(object, to, itemSerializer);
+            }
+        };
+    }
+}
@@ -0,0 +1,48 @@
+package com.gitlab.faerytea.mapper.binary.collections;
+
+import com.gitlab.faerytea.mapper.adapters.MappingAdapter;
+import com.gitlab.faerytea.mapper.annotations.DefaultMapper;
+import com.gitlab.faerytea.mapper.annotations.Instance;
+import com.gitlab.faerytea.mapper.binary.BinaryInput;
+import com.gitlab.faerytea.mapper.binary.BinaryOutput;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+@DefaultMapper
+public class BooleanArrayMapper implements MappingAdapter<boolean[], BinaryInput, BinaryOutput> {
+    @Instance
+    public static final BooleanArrayMapper INSTANCE = new BooleanArrayMapper();
+    private static final boolean[] EMPTY = new boolean[0];
+
+    @Override
+    public boolean[] toObject(BinaryInput source) throws IOException {
+        if (source.readNull()) return null;
+        source.beginArray();
+        if (!source.hasNext()) {
+            source.endContainer();
+            return EMPTY;
+        }
+        boolean[] res = new boolean[16];
+        int size = 0;
+        do {
+            if (size == res.length) res = Arrays.copyOf(res, size << 1);
+            res[size++] = source.readBoolean();
+        } while (source.hasNext());
+        source.endContainer();
+        return size == res.length ? res : Arrays.copyOf(res, size);
+    }
+
+    @Override
+    public void write(boolean[] object, BinaryOutput to) {
+        if (object == null) {
+            to.writeNull();
+            return;
+        }
+        to.beginArray();
+        for (boolean i : object) {
+            to.writeBoolean(i);
+        }
+        to.endArray();
+    }
+}
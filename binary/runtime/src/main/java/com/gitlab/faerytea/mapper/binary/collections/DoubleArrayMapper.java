@@ -0,0 +1,48 @@
+package com.gitlab.faerytea.mapper.binary.collections;
+
+import com.gitlab.faerytea.mapper.adapters.MappingAdapter;
+import com.gitlab.faerytea.mapper.annotations.DefaultMapper;
+import com.gitlab.faerytea.mapper.annotations.Instance;
+import com.gitlab.faerytea.mapper.binary.BinaryInput;
+import com.gitlab.faerytea.mapper.binary.BinaryOutput;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+@DefaultMapper
+public class DoubleArrayMapper implements MappingAdapter<double[], BinaryInput, BinaryOutput> {
+    @Instance
+    public static final DoubleArrayMapper INSTANCE = new DoubleArrayMapper();
+    private static final double[] EMPTY = new double[0];
+
+    @Override
+    public double[] toObject(BinaryInput source) throws IOException {
+        if (source.readNull()) return null;
+        source.beginArray();
+        if (!source.hasNext()) {
+            source.endContainer();
+            return EMPTY;
+        }
+        double[] res = new double[16];
+        int size = 0;
+        do {
+            if (size == res.length) res = Arrays.copyOf(res, size << 1);
+            res[size++] = source.readDouble();
+        } while (source.hasNext());
+        source.endContainer();
+        return size == res.length ? res : Arrays.copyOf(res, size);
+    }
+
+    @Override
+    public void write(double[] object, BinaryOutput to) {
+        if (object == null) {
+            to.writeNull();
+            return;
+        }
+        to.beginArray();
+        for (double i : object) {
+            to.writeDouble(i);
+        }
+        to.endArray();
+    }
+}
@@ -0,0 +1,48 @@
+package com.gitlab.faerytea.mapper.binary.collections;
+
+import com.gitlab.faerytea.mapper.adapters.MappingAdapter;
+import com.gitlab.faerytea.mapper.annotations.DefaultMapper;
+import com.gitlab.faerytea.mapper.annotations.Instance;
+import com.gitlab.faerytea.mapper.binary.BinaryInput;
+import com.gitlab.faerytea.mapper.binary.BinaryOutput;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+@DefaultMapper
+public class IntArrayMapper implements MappingAdapter<int[], BinaryInput, BinaryOutput> {
+    @Instance
+    public static final IntArrayMapper INSTANCE = new IntArrayMapper();
+    private static final int[] EMPTY = new int[0];
+
+    @Override
+    public int[] toObject(BinaryInput source) throws IOException {
+        if (source.readNull()) return null;
+        source.beginArray();
+        if (!source.hasNext()) {
+            source.endContainer();
+            return EMPTY;
+        }
+        int[] res = new int[16];
+        int size = 0;
+        do {
+            if (size == res.length) res = Arrays.copyOf(res, size << 1);
+            res[size++] = source.readInt();
+        } while (source.hasNext());
+        source.endContainer();
+        return size == res.length ? res : Arrays.copyOf(res, size);
+    }
+
+    @Override
+    public void write(int[] object, BinaryOutput to) {
+        if (object == null) {
+            to.writeNull();
+            return;
+        }
+        to.beginArray();
+        for (int i : object) {
+            to.writeInt(i);
+        }
+        to.endArray();
+    }
+}
@@ -0,0 +1,82 @@
+package com.gitlab.faerytea.mapper.binary.collections;
+
+import com.gitlab.faerytea.mapper.adapters.CollectionsMapper;
+import com.gitlab.faerytea.mapper.adapters.MappingAdapter;
+import com.gitlab.faerytea.mapper.adapters.Parser;
+import com.gitlab.faerytea.mapper.adapters.Serializer;
+import com.gitlab.faerytea.mapper.annotations.DefaultMapper;
+import com.gitlab.faerytea.mapper.annotations.Instance;
+import com.gitlab.faerytea.mapper.binary.BinaryInput;
+import com.gitlab.faerytea.mapper.binary.BinaryOutput;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+@DefaultMapper
+public class ListMapper implements CollectionsMapper<List, BinaryInput, BinaryOutput> {
+    @Instance
+    public static final ListMapper INSTANCE = new ListMapper();
+
+    @Override
+    public <T> MappingAdapter<List<T>, BinaryInput, BinaryOutput> apply(final MappingAdapter<T, BinaryInput, BinaryOutput> itemMapper) {
+        return new MappingAdapter<List<T>, BinaryInput, BinaryOutput>() {
+            @Override
+            public List<T> toObject(BinaryInput source) throws IOException {
+                return ListMapper.this.toObject(source, itemMapper);
+            }
+
+            @Override
+            public void write(List<T> object, BinaryOutput to) throws IOException {
+                ListMapper.this.write(object, to, itemMapper);
+            }
+        };
+    }
+
+    @Override
+    public <T> List<T> toObject(BinaryInput source, Parser<T, BinaryInput> itemParser) throws IOException {
+        if (source.readNull()) return null;
+        source.beginArray();
+        final ArrayList<T> res = new ArrayList<T>();
+        while (source.hasNext()) {
+            res.add(itemParser.toObject(source));
+        }
+        source.endContainer();
+        return res;
+    }
+
+    @Override
+    public <T> Parser<List<T>, BinaryInput> apply(final Parser<T, BinaryInput> itemParser) {
+        return new Parser<List<T>, BinaryInput>() {
+            @Override
+            public List<T> toObject(BinaryInput source) throws IOException {
+                return ListMapper.this.toObject(source, itemParser);
+            }
+        };
+    }
+
+    @Override
+    public <T> void write(List object, BinaryOutput to, Serializer<T, BinaryOutput> itemSerializer) throws IOException {
+        if (object == null) {
+            to.writeNull();
+            return;
+        }
+        to.beginArray();
+        @SuppressWarnings("unchecked")
+        List<T> actual = object;
+        for (T i : actual) {
+            itemSerializer.write(i, to);
+        }
+        to.endArray();
+    }
+
+    @Override
+    public <T> Serializer<List<T>, BinaryOutput> apply(final Serializer<T, BinaryOutput> itemSerializer) {
+        return new Serializer<List<T>, BinaryOutput>() {
+            @Override
+            public void write(List<T> object, BinaryOutput to) throws IOException {
+                ListMapper.this.write(object, to, itemSerializer);
+            }
+        };
+    }
+}
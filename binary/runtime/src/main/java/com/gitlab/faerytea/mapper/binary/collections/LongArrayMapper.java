@@ -0,0 +1,48 @@
+package com.gitlab.faerytea.mapper.binary.collections;
+
+import com.gitlab.faerytea.mapper.adapters.MappingAdapter;
+import com.gitlab.faerytea.mapper.annotations.DefaultMapper;
+import com.gitlab.faerytea.mapper.annotations.Instance;
+import com.gitlab.faerytea.mapper.binary.BinaryInput;
+import com.gitlab.faerytea.mapper.binary.BinaryOutput;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+@DefaultMapper
+public class LongArrayMapper implements MappingAdapter<long[], BinaryInput, BinaryOutput> {
+    @Instance
+    public static final LongArrayMapper INSTANCE = new LongArrayMapper();
+    private static final long[] EMPTY = new long[0];
+
+    @Override
+    public long[] toObject(BinaryInput source) throws IOException {
+        if (source.readNull()) return null;
+        source.beginArray();
+        if (!source.hasNext()) {
+            source.endContainer();
+            return EMPTY;
+        }
+        long[] res = new long[16];
+        int size = 0;
+        do {
+            if (size == res.length) res = Arrays.copyOf(res, size << 1);
+            res[size++] = source.readLong();
+        } while (source.hasNext());
+        source.endContainer();
+        return size == res.length ? res : Arrays.copyOf(res, size);
+    }
+
+    @Override
+    public void write(long[] object, BinaryOutput to) {
+        if (object == null) {
+            to.writeNull();
+            return;
+        }
+        to.beginArray();
+        for (long i : object) {
+            to.writeLong(i);
+        }
+        to.endArray();
+    }
+}
@@ -0,0 +1,81 @@
+package com.gitlab.faerytea.mapper.binary.collections;
+
+import com.gitlab.faerytea.mapper.adapters.MappingAdapter;
+import com.gitlab.faerytea.mapper.adapters.Parser;
+import com.gitlab.faerytea.mapper.adapters.Serializer;
+import com.gitlab.faerytea.mapper.annotations.DefaultMapper;
+import com.gitlab.faerytea.mapper.annotations.Instance;
+import com.gitlab.faerytea.mapper.binary.BinaryInput;
+import com.gitlab.faerytea.mapper.binary.BinaryOutput;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+// entries are stored as array of alternating keys and values,
+// so keys may be of any type
+@DefaultMapper
+public class MapMapper {
+    @Instance
+    public static final MapMapper INSTANCE = new MapMapper();
+
+    public <K, V> MappingAdapter<Map<K, V>, BinaryInput, BinaryOutput> apply(final MappingAdapter<K, BinaryInput, BinaryOutput> keyMapper,
+                                                                            final MappingAdapter<V, BinaryInput, BinaryOutput> valueMapper) {
+        return new MappingAdapter<Map<K, V>, BinaryInput, BinaryOutput>() {
+            @Override
+            public Map<K, V> toObject(BinaryInput source) throws IOException {
+                return MapMapper.this.toObject(source, keyMapper, valueMapper);
+            }
+
+            @Override
+            public void write(Map<K, V> object, BinaryOutput to) throws IOException {
+                MapMapper.this.write(object, to, keyMapper, valueMapper);
+            }
+        };
+    }
+
+    public <K, V> Map<K, V> toObject(BinaryInput in, Parser<K, BinaryInput> keyParser, Parser<V, BinaryInput> valueParser) throws IOException {
+        if (in.readNull()) return null;
+        in.beginArray();
+        final Map<K, V> res = new HashMap<K, V>();
+        while (in.hasNext()) {
+            final K key = keyParser.toObject(in);
+            res.put(key, valueParser.toObject(in));
+        }
+        in.endContainer();
+        return res;
+    }
+
+    public <K, V> Parser<Map<K, V>, BinaryInput> apply(final Parser<K, BinaryInput> keyParser,
+                                                      final Parser<V, BinaryInput> valueParser) {
+        return new Parser<Map<K, V>, BinaryInput>() {
+            @Override
+            public Map<K, V> toObject(BinaryInput source) throws IOException {
+                return MapMapper.this.toObject(source, keyParser, valueParser);
+            }
+        };
+    }
+
+    public <K, V> void write(Map<K, V> object, BinaryOutput to, Serializer<K, BinaryOutput> keySerializer, Serializer<V, BinaryOutput> valueSerializer) throws IOException {
+        if (object == null) {
+            to.writeNull();
+            return;
+        }
+        to.beginArray();
+        for (Map.Entry<K, V> e : object.entrySet()) {
+            keySerializer.write(e.getKey(), to);
+            valueSerializer.write(e.getValue(), to);
+        }
+        to.endArray();
+    }
+
+    public <K, V> Serializer<Map<K, V>, BinaryOutput> apply(final Serializer<K, BinaryOutput> keySerializer,
+                                                           final Serializer<V, BinaryOutput> valueSerializer) {
+        return new Serializer<Map<K, V>, BinaryOutput>() {
+            @Override
+            public void write(Map<K, V> object, BinaryOutput to) throws IOException {
+                MapMapper.this.write(object, to, keySerializer, valueSerializer);
+            }
+        };
+    }
+}
@@ -0,0 +1,82 @@
+package com.gitlab.faerytea.mapper.binary.collections;
+
+import com.gitlab.faerytea.mapper.adapters.CollectionsMapper;
+import com.gitlab.faerytea.mapper.adapters.MappingAdapter;
+import com.gitlab.faerytea.mapper.adapters.Parser;
+import com.gitlab.faerytea.mapper.adapters.Serializer;
+import com.gitlab.faerytea.mapper.annotations.DefaultMapper;
+import com.gitlab.faerytea.mapper.annotations.Instance;
+import com.gitlab.faerytea.mapper.binary.BinaryInput;
+import com.gitlab.faerytea.mapper.binary.BinaryOutput;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+@DefaultMapper
+public class SetMapper implements CollectionsMapper<Set, BinaryInput, BinaryOutput> {
+    @Instance
+    public static final SetMapper INSTANCE = new SetMapper();
+
+    @Override
+    public <T> MappingAdapter<Set<T>, BinaryInput, BinaryOutput> apply(final MappingAdapter<T, BinaryInput, BinaryOutput> itemMapper) {
+        return new MappingAdapter<Set<T>, BinaryInput, BinaryOutput>() {
+            @Override
+            public Set<T> toObject(BinaryInput source) throws IOException {
+                return SetMapper.this.toObject(source, itemMapper);
+            }
+
+            @Override
+            public void write(Set<T> object, BinaryOutput to) throws IOException {
+                SetMapper.this.write(object, to, itemMapper);
+            }
+        };
+    }
+
+    @Override
+    public <T> Set<T> toObject(BinaryInput source, Parser<T, BinaryInput> itemParser) throws IOException {
+        if (source.readNull()) return null;
+        source.beginArray();
+        final HashSet<T> res = new HashSet<T>();
+        while (source.hasNext()) {
+            res.add(itemParser.toObject(source));
+        }
+        source.endContainer();
+        return res;
+    }
+
+    @Override
+    public <T> Parser<Set<T>, BinaryInput> apply(final Parser<T, BinaryInput> itemParser) {
+        return new Parser<Set<T>, BinaryInput>() {
+            @Override
+            public Set<T> toObject(BinaryInput source) throws IOException {
+                return SetMapper.this.toObject(source, itemParser);
+            }
+        };
+    }
+
+    @Override
+    public <T> void write(Set object, BinaryOutput to, Serializer<T, BinaryOutput> itemSerializer) throws IOException {
+        if (object == null) {
+            to.writeNull();
+            return;
+        }
+        to.beginArray();
+        @SuppressWarnings("unchecked")
+        Set<T> actual = object;
+        for (T i : actual) {
+            itemSerializer.write(i, to);
+        }
+        to.endArray();
+    }
+
+    @Override
+    public <T> Serializer<Set<T>, BinaryOutput> apply(final Serializer<T, BinaryOutput> itemSerializer) {
+        return new Serializer<Set<T>, BinaryOutput>() {
+            @Override
+            public void write(Set<T> object, BinaryOutput to) throws IOException {
+                SetMapper.this.write(object, to, itemSerializer);
+            }
+        };
+    }
+}
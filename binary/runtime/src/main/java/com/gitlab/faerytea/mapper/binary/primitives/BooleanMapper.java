@@ -0,0 +1,25 @@
+package com.gitlab.faerytea.mapper.binary.primitives;
+
+import com.gitlab.faerytea.mapper.adapters.MappingAdapterBoolean;
+import com.gitlab.faerytea.mapper.annotations.DefaultMapper;
+import com.gitlab.faerytea.mapper.annotations.Instance;
+import com.gitlab.faerytea.mapper.binary.BinaryInput;
+import com.gitlab.faerytea.mapper.binary.BinaryOutput;
+
+import java.io.IOException;
+
+@DefaultMapper
+public class BooleanMapper implements MappingAdapterBoolean<BinaryInput, BinaryOutput> {
+    @Instance
+    public static final BooleanMapper INSTANCE = new BooleanMapper();
+
+    @Override
+    public void write(boolean object, BinaryOutput to) {
+        to.writeBoolean(object);
+    }
+
+    @Override
+    public boolean toObject(BinaryInput source) throws IOException {
+        return source.readBoolean();
+    }
+}
@@ -0,0 +1,25 @@
+package com.gitlab.faerytea.mapper.binary.primitives;
+
+import com.gitlab.faerytea.mapper.adapters.MappingAdapterDouble;
+import com.gitlab.faerytea.mapper.annotations.DefaultMapper;
+import com.gitlab.faerytea.mapper.annotations.Instance;
+import com.gitlab.faerytea.mapper.binary.BinaryInput;
+import com.gitlab.faerytea.mapper.binary.BinaryOutput;
+
+import java.io.IOException;
+
+@DefaultMapper
+public class DoubleMapper implements MappingAdapterDouble<BinaryInput, BinaryOutput> {
+    @Instance
+    public static final DoubleMapper INSTANCE = new DoubleMapper();
+
+    @Override
+    public void write(double object, BinaryOutput to) {
+        to.writeDouble(object);
+    }
+
+    @Override
+    public double toObject(BinaryInput source) throws IOException {
+        return source.readDouble();
+    }
+}
@@ -0,0 +1,25 @@
+package com.gitlab.faerytea.mapper.binary.primitives;
+
+import com.gitlab.faerytea.mapper.adapters.MappingAdapterInt;
+import com.gitlab.faerytea.mapper.annotations.DefaultMapper;
+import com.gitlab.faerytea.mapper.annotations.Instance;
+import com.gitlab.faerytea.mapper.binary.BinaryInput;
+import com.gitlab.faerytea.mapper.binary.BinaryOutput;
+
+import java.io.IOException;
+
+@DefaultMapper
+public class IntMapper implements MappingAdapterInt<BinaryInput, BinaryOutput> {
+    @Instance
+    public static final IntMapper INSTANCE = new IntMapper();
+
+    @Override
+    public void write(int object, BinaryOutput to) {
+        to.writeInt(object);
+    }
+
+    @Override
+    public int toObject(BinaryInput source) throws IOException {
+        return source.readInt();
+    }
+}
@@ -0,0 +1,25 @@
+package com.gitlab.faerytea.mapper.binary.primitives;
+
+import com.gitlab.faerytea.mapper.adapters.MappingAdapterLong;
+import com.gitlab.faerytea.mapper.annotations.DefaultMapper;
+import com.gitlab.faerytea.mapper.annotations.Instance;
+import com.gitlab.faerytea.mapper.binary.BinaryInput;
+import com.gitlab.faerytea.mapper.binary.BinaryOutput;
+
+import java.io.IOException;
+
+@DefaultMapper
+public class LongMapper implements MappingAdapterLong<BinaryInput, BinaryOutput> {
+    @Instance
+    public static final LongMapper INSTANCE = new LongMapper();
+
+    @Override
+    public void write(long object, BinaryOutput to) {
+        to.writeLong(object);
+    }
+
+    @Override
+    public long toObject(BinaryInput source) throws IOException {
+        return source.readLong();
+    }
+}
@@ -0,0 +1,25 @@
+package com.gitlab.faerytea.mapper.binary.primitives;
+
+import com.gitlab.faerytea.mapper.adapters.MappingAdapter;
+import com.gitlab.faerytea.mapper.annotations.DefaultMapper;
+import com.gitlab.faerytea.mapper.annotations.Instance;
+import com.gitlab.faerytea.mapper.binary.BinaryInput;
+import com.gitlab.faerytea.mapper.binary.BinaryOutput;
+
+import java.io.IOException;
+
+@DefaultMapper
+public class StringMapper implements MappingAdapter<String, BinaryInput, BinaryOutput> {
+    @Instance
+    public static final StringMapper INSTANCE = new StringMapper();
+
+    @Override
+    public String toObject(BinaryInput source) throws IOException {
+        return source.readString();
+    }
+
+    @Override
+    public void write(String object, BinaryOutput to) {
+        to.writeString(object);
+    }
+}
@@ -0,0 +1,18 @@
+package com.gitlab.faerytea.mapper.binary.unknown;
+
+import com.gitlab.faerytea.mapper.adapters.UnknownPropertyHandler;
+import com.gitlab.faerytea.mapper.annotations.Instance;
+import com.gitlab.faerytea.mapper.binary.BinaryInput;
+
+import java.io.IOException;
+
+public class SkipUnknown implements UnknownPropertyHandler<BinaryInput> {
+    @Instance
+    public static final SkipUnknown INSTANCE = new SkipUnknown();
+
+    @Override
+    public void handle(String name, BinaryInput currentInput) throws IOException {
+        // containers are length-prefixed, so this is a single jump
+        currentInput.skipValue();
+    }
+}
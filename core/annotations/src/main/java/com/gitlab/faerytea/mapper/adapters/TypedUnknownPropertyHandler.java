@@ -0,0 +1,36 @@
+/*
+ * Copyright 2020 Valery Maevsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.gitlab.faerytea.mapper.adapters;
+
+import java.io.IOException;
+
+/**
+ * Handler for unknown properties which wants to know what is being parsed.
+ * Generated parsers call {@link #handle(Class, String, Object)} instead of
+ * {@link #handle(String, Object)}, so one instance can serve many types.
+ */
+public interface TypedUnknownPropertyHandler<Input> extends UnknownPropertyHandler<Input> {
+    /**
+     * This code will be invoked when generated parser find
+     * unknown property
+     *
+     * @param type         type which is being parsed
+     * @param name         name of property
+     * @param currentInput current input, stateful
+     * @throws IOException in case of problems from {@code currentInput}
+     */
+    void handle(Class<?> type, String name, Input currentInput) throws IOException;
+}
@@ -40,7 +40,7 @@ import java.lang.annotation.Target;
  * @see Default.Bool
  * @see Default.String
  */
-@Retention(RetentionPolicy.SOURCE)
+@Retention(RetentionPolicy.CLASS)
 @Target({ElementType.FIELD, ElementType.PARAMETER, ElementType.METHOD})
 public @interface Default {
     /**
@@ -65,7 +65,7 @@ public @interface Default {
     /**
      * Defaults to provided {@code int}.
      */
-    @Retention(RetentionPolicy.SOURCE)
+    @Retention(RetentionPolicy.CLASS)
     @Target({ElementType.FIELD, ElementType.PARAMETER, ElementType.METHOD})
     @interface Int {
         /**
@@ -77,7 +77,7 @@ public @interface Default {
     /**
      * Defaults to provided {@code long}.
      */
-    @Retention(RetentionPolicy.SOURCE)
+    @Retention(RetentionPolicy.CLASS)
     @Target({ElementType.FIELD, ElementType.PARAMETER, ElementType.METHOD})
     @interface Long {
         /**
@@ -89,7 +89,7 @@ public @interface Default {
     /**
      * Defaults to provided {@code double}.
      */
-    @Retention(RetentionPolicy.SOURCE)
+    @Retention(RetentionPolicy.CLASS)
     @Target({ElementType.FIELD, ElementType.PARAMETER, ElementType.METHOD})
     @interface Double {
         /**
@@ -101,7 +101,7 @@ public @interface Default {
     /**
      * Defaults to provided {@code boolean}.
      */
-    @Retention(RetentionPolicy.SOURCE)
+    @Retention(RetentionPolicy.CLASS)
     @Target({ElementType.FIELD, ElementType.PARAMETER, ElementType.METHOD})
     @interface Bool {
         /**
@@ -113,7 +113,7 @@ public @interface Default {
     /**
      * Defaults to provided {@code String}.
      */
-    @Retention(RetentionPolicy.SOURCE)
+    @Retention(RetentionPolicy.CLASS)
     @Target({ElementType.FIELD, ElementType.PARAMETER, ElementType.METHOD})
     @interface String {
         /**
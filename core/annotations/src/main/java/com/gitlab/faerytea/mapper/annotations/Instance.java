@@ -25,7 +25,7 @@ import java.lang.annotation.Target;
  * Should be used only on {@code public static final} fields or
  * {@code public static} method.
  */
-@Retention(RetentionPolicy.SOURCE)
+@Retention(RetentionPolicy.CLASS)
 @Target({
         ElementType.METHOD,
         ElementType.FIELD
@@ -28,7 +28,7 @@ import java.lang.annotation.Target;
  * Applying to constructor implicitly marks all constructor
  * parameters as {@link Property}.
  */
-@Retention(RetentionPolicy.SOURCE)
+@Retention(RetentionPolicy.CLASS)
 @Target({ElementType.CONSTRUCTOR, ElementType.TYPE})
 public @interface Mappable {
     /**
@@ -47,4 +47,12 @@ public @interface Mappable {
      * @return name of named instance of {@link UnknownPropertyHandler}
      */
     String onUnknownNamed() default "";
+
+    /**
+     * Specify projections, i.e. parsers which bind only some of properties.
+     *
+     * @return projections
+     * @see Projection
+     */
+    Projection[] projections() default {};
 }
@@ -29,7 +29,7 @@ import java.lang.annotation.Target;
  *
  * @see SubtypeResolver
  */
-@Retention(RetentionPolicy.SOURCE)
+@Retention(RetentionPolicy.CLASS)
 @Target(ElementType.TYPE)
 public @interface MappableViaSubclasses {
     /**
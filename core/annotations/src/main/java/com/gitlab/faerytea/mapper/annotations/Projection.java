@@ -0,0 +1,55 @@
+/*
+ * Copyright 2020 Valery Maevsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.gitlab.faerytea.mapper.annotations;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Named subset of properties of {@link Mappable} class.
+ * For each projection additional parser will be generated;
+ * it binds only listed properties, skips others and stops
+ * reading object as soon as all listed properties are found.
+ * Properties which are not listed are left with its default
+ * values and are not validated.
+ * <p>
+ * Example:
+ * <pre>
+ * &#64;Mappable(projections = &#64;Projection(name = "summary", value = {"id", "name"}))
+ * public class Document { ... }
+ * </pre>
+ * Parser can be found in {@code DocumentAdapter.Projection_summary.INSTANCE}.
+ *
+ * @see Mappable#projections()
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target({})
+public @interface Projection {
+    /**
+     * Name of projection, must be valid Java identifier.
+     *
+     * @return name
+     */
+    String name();
+
+    /**
+     * Serialized names of properties.
+     *
+     * @return names of properties
+     */
+    String[] value();
+}
@@ -38,7 +38,7 @@ import java.lang.annotation.Target;
  * </ul>
  * </p>
  */
-@Retention(RetentionPolicy.SOURCE)
+@Retention(RetentionPolicy.CLASS)
 @Target({ElementType.FIELD, ElementType.PARAMETER, ElementType.METHOD})
 public @interface Property {
     /**
@@ -73,12 +73,12 @@ import java.lang.annotation.Target;
  * to [on String, on List&lt;Name&gt;, on Name] — you can
  * think about it as sequence from tree iterator.
  */
-@Retention(RetentionPolicy.SOURCE)
+@Retention(RetentionPolicy.CLASS)
 @Target({ElementType.FIELD, ElementType.METHOD, ElementType.TYPE})
 public @interface PutOnTypeArguments {
     OnArg[] value();
 
-    @Retention(RetentionPolicy.SOURCE)
+    @Retention(RetentionPolicy.CLASS)
     @Target({})
     @interface OnArg {
         /**
@@ -35,7 +35,7 @@ import java.lang.annotation.Target;
  * @see com.gitlab.faerytea.mapper.validation.Validate
  */
 @Documented
-@Retention(RetentionPolicy.SOURCE)
+@Retention(RetentionPolicy.CLASS)
 @Target({ElementType.FIELD, ElementType.PARAMETER, ElementType.METHOD})
 public @interface Required {
     boolean value() default true;
@@ -29,7 +29,7 @@ import java.lang.annotation.Target;
  * as an argument in {@link Property#via()} and
  * {@link PutOnTypeArguments.OnArg#via()}.
  */
-@Retention(RetentionPolicy.SOURCE)
+@Retention(RetentionPolicy.CLASS)
 @Target({})
 public @interface SpecificMapper {
     /**
@@ -62,7 +62,7 @@ import java.lang.annotation.Target;
  *
  * @see Converter
  */
-@Retention(RetentionPolicy.SOURCE)
+@Retention(RetentionPolicy.CLASS)
 @Target({ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER})
 public @interface Convert {
     Class<? extends MarkerConverter> value();
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2020 Valery Maevsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.gitlab.faerytea.mapper.metrics;
+
+/**
+ * Receiver of measurements from adapters generated with
+ * {@code -AmapperMetrics}. Called on hot path from any thread,
+ * so implementations must be thread-safe and cheap.
+ *
+ * @see Metrics#install(AdapterMetrics)
+ * @see AdderMetrics
+ */
+public interface AdapterMetrics {
+    /**
+     * Called after {@code toObject} of adapter for {@code type}.
+     * Nested objects are included into outer ones.
+     *
+     * @param type  parsed type
+     * @param nanos time spent
+     * @param bytes consumed input or {@code -1} if unknown
+     */
+    void parsed(Class<?> type, long nanos, long bytes);
+
+    /**
+     * Called after {@code write} of adapter for {@code type}.
+     * Nested objects are included into outer ones.
+     *
+     * @param type  serialized type
+     * @param nanos time spent
+     * @param bytes produced output or {@code -1} if unknown
+     */
+    void serialized(Class<?> type, long nanos, long bytes);
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2020 Valery Maevsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.gitlab.faerytea.mapper.metrics;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free sink which sums measurements per type in striped counters,
+ * like {@code LongAdder} (which is not available on Java 6).
+ * Reading does not block writers, but values of one type may be
+ * slightly inconsistent with each other while adapters are running.
+ */
+public class AdderMetrics implements AdapterMetrics {
+    private static final Comparator<Snapshot> BY_TIME = new Comparator<Snapshot>() {
+        @Override
+        public int compare(Snapshot o1, Snapshot o2) {
+            final long t1 = o1.parseNanos + o1.serializeNanos;
+            final long t2 = o2.parseNanos + o2.serializeNanos;
+            return t1 < t2 ? 1 : t1 == t2 ? 0 : -1;
+        }
+    };
+    private final ConcurrentMap<Class<?>, Counters> counters = new ConcurrentHashMap<Class<?>, Counters>();
+
+    @Override
+    public void parsed(Class<?> type, long nanos, long bytes) {
+        countersOf(type).add(Counters.PARSE, nanos, bytes);
+    }
+
+    @Override
+    public void serialized(Class<?> type, long nanos, long bytes) {
+        countersOf(type).add(Counters.SERIALIZE, nanos, bytes);
+    }
+
+    /**
+     * @return current values, most time consuming types first
+     */
+    public List<Snapshot> snapshot() {
+        final List<Snapshot> res = new ArrayList<Snapshot>(counters.size());
+        for (Map.Entry<Class<?>, Counters> e : counters.entrySet()) {
+            final Counters c = e.getValue();
+            res.add(new Snapshot(e.getKey(),
+                    c.sum(Counters.PARSE), c.sum(Counters.PARSE + 1), c.sum(Counters.PARSE + 2),
+                    c.sum(Counters.SERIALIZE), c.sum(Counters.SERIALIZE + 1), c.sum(Counters.SERIALIZE + 2)));
+        }
+        Collections.sort(res, BY_TIME);
+        return res;
+    }
+
+    /**
+     * Writes {@link #snapshot()} as table, one type per line.
+     *
+     * @param out destination
+     * @throws IOException from {@code out}
+     */
+    public void report(Appendable out) throws IOException {
+        out.append("type\tparsed\tparse ns\tparse bytes\tserialized\tserialize ns\tserialize bytes\n");
+        for (Snapshot s : snapshot()) {
+            out.append(s.type.getName())
+                    .append('\t').append(String.valueOf(s.parseCount))
+                    .append('\t').append(String.valueOf(s.parseNanos))
+                    .append('\t').append(String.valueOf(s.parseBytes))
+                    .append('\t').append(String.valueOf(s.serializeCount))
+                    .append('\t').append(String.valueOf(s.serializeNanos))
+                    .append('\t').append(String.valueOf(s.serializeBytes))
+                    .append('\n');
+        }
+    }
+
+    /**
+     * Forgets all measurements.
+     */
+    public void reset() {
+        counters.clear();
+    }
+
+    private Counters countersOf(Class<?> type) {
+        // get is lock-free, putIfAbsent happens once per type
+        Counters c = counters.get(type);
+        if (c == null) {
+            final Counters created = new Counters();
+            c = counters.putIfAbsent(type, created);
+            if (c == null) c = created;
+        }
+        return c;
+    }
+
+    // all counters of type per thread stripe, each stripe on its own cache line:
+    // count, nanos, bytes of parsing, then the same of serialization
+    private static final class Counters {
+        static final int PARSE = 0;
+        static final int SERIALIZE = 3;
+        // longs per cache line
+        private static final int PAD = 8;
+        private static final int STRIPES = stripes();
+        private static final int MASK = STRIPES - 1;
+
+        private final AtomicLongArray cells = new AtomicLongArray(STRIPES * PAD);
+
+        void add(int kind, long nanos, long bytes) {
+            final int base = ((int) Thread.currentThread().getId() & MASK) * PAD + kind;
+            cells.incrementAndGet(base);
+            cells.addAndGet(base + 1, nanos);
+            if (bytes > 0) cells.addAndGet(base + 2, bytes);
+        }
+
+        long sum(int index) {
+            long res = 0;
+            for (int i = 0; i < STRIPES; ++i) {
+                res += cells.get(i * PAD + index);
+            }
+            return res;
+        }
+
+        private static int stripes() {
+            int res = 1;
+            // bounded: every measured type has its own cells
+            final int wanted = Math.min(Runtime.getRuntime().availableProcessors() * 2, 16);
+            while (res < wanted) res <<= 1;
+            return res;
+        }
+    }
+
+    /**
+     * Measurements of one type. Bytes are summed only
+     * for backends which can tell position in input / output.
+     */
+    public static final class Snapshot {
+        public final Class<?> type;
+        public final long parseCount;
+        public final long parseNanos;
+        public final long parseBytes;
+        public final long serializeCount;
+        public final long serializeNanos;
+        public final long serializeBytes;
+
+        public Snapshot(Class<?> type,
+                        long parseCount, long parseNanos, long parseBytes,
+                        long serializeCount, long serializeNanos, long serializeBytes) {
+            this.type = type;
+            this.parseCount = parseCount;
+            this.parseNanos = parseNanos;
+            this.parseBytes = parseBytes;
+            this.serializeCount = serializeCount;
+            this.serializeNanos = serializeNanos;
+            this.serializeBytes = serializeBytes;
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot{" +
+                    "type=" + type.getName() +
+                    ", parseCount=" + parseCount +
+                    ", parseNanos=" + parseNanos +
+                    ", parseBytes=" + parseBytes +
+                    ", serializeCount=" + serializeCount +
+                    ", serializeNanos=" + serializeNanos +
+                    ", serializeBytes=" + serializeBytes +
+                    '}';
+        }
+    }
+}
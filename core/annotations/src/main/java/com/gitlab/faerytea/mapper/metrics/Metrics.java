@@ -0,0 +1,75 @@
+/*
+ * Copyright 2020 Valery Maevsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.gitlab.faerytea.mapper.metrics;
+
+/**
+ * Entry point of generated adapters into metrics.
+ * Nothing is measured until sink is {@linkplain #install(AdapterMetrics) installed}.
+ */
+public final class Metrics {
+    private static volatile AdapterMetrics sink;
+
+    private Metrics() {
+    }
+
+    /**
+     * Sets destination of measurements for all instrumented adapters.
+     *
+     * @param metrics new sink or {@code null} to stop measuring
+     */
+    public static void install(AdapterMetrics metrics) {
+        sink = metrics;
+    }
+
+    public static AdapterMetrics installed() {
+        return sink;
+    }
+
+    /**
+     * Called by generated code before work.
+     *
+     * @return current {@link System#nanoTime()} or {@code 0} if no sink installed
+     */
+    public static long start() {
+        return sink == null ? 0 : System.nanoTime();
+    }
+
+    /**
+     * Called by generated code after parsing.
+     *
+     * @param type  parsed type
+     * @param start result of {@link #start()}
+     * @param bytes consumed input or {@code -1}
+     */
+    public static void parsed(Class<?> type, long start, long bytes) {
+        final long end = System.nanoTime();
+        final AdapterMetrics metrics = sink;
+        if (metrics != null) metrics.parsed(type, end - start, bytes);
+    }
+
+    /**
+     * Called by generated code after serialization.
+     *
+     * @param type  serialized type
+     * @param start result of {@link #start()}
+     * @param bytes produced output or {@code -1}
+     */
+    public static void serialized(Class<?> type, long start, long bytes) {
+        final long end = System.nanoTime();
+        final AdapterMetrics metrics = sink;
+        if (metrics != null) metrics.serialized(type, end - start, bytes);
+    }
+}
@@ -24,7 +24,7 @@ import java.lang.annotation.Target;
 /**
  * Defines subtype.
  */
-@Retention(RetentionPolicy.SOURCE)
+@Retention(RetentionPolicy.CLASS)
 @Target({})
 public @interface Subtype {
     /**
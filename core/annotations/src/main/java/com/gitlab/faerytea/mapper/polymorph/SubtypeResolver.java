@@ -32,7 +32,7 @@ import java.lang.annotation.Target;
  *
  * @see Variant
  */
-@Retention(RetentionPolicy.SOURCE)
+@Retention(RetentionPolicy.CLASS)
 @Target({ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER})
 public @interface SubtypeResolver {
     /**
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2020 Valery Maevsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.gitlab.faerytea.mapper.registry;
+
+import com.gitlab.faerytea.mapper.adapters.Parser;
+import com.gitlab.faerytea.mapper.adapters.Serializer;
+
+/**
+ * Adapters generated in one compilation, by target class.
+ * Processor writes implementation and registers it in
+ * {@code META-INF/services}, so it is found by {@link Adapters}.
+ * Only adapters of non-generic types are registered.
+ */
+public interface AdapterRegistry {
+    /**
+     * @return source of data for parsers of this registry
+     */
+    Class<?> inputType();
+
+    /**
+     * @return destination for serializers of this registry
+     */
+    Class<?> outputType();
+
+    /**
+     * @param type exact class of objects
+     * @return parser or {@code null} if there is no parser for this class
+     */
+    Parser<?, ?> parser(Class<?> type);
+
+    /**
+     * @param type exact class of objects
+     * @return serializer or {@code null} if there is no serializer for this class
+     */
+    Serializer<?, ?> serializer(Class<?> type);
+}
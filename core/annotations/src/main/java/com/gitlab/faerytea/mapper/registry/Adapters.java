@@ -0,0 +1,140 @@
+/*
+ * Copyright 2020 Valery Maevsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.gitlab.faerytea.mapper.registry;
+
+import com.gitlab.faerytea.mapper.adapters.Parser;
+import com.gitlab.faerytea.mapper.adapters.Serializer;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Lookup of generated adapters by class, without reflection.
+ * Registries are loaded by {@link ServiceLoader} on first use;
+ * results are cached per class, so repeated lookups are a hash map get.
+ * <p>
+ * Cache holds classes strongly, avoid it for classes of short-living class loaders.
+ */
+public final class Adapters {
+    private static final AdapterRegistry[] NONE = new AdapterRegistry[0];
+    private static final ConcurrentMap<Class<?>, Found> CACHE = new ConcurrentHashMap<Class<?>, Found>();
+    private static volatile AdapterRegistry[] registries;
+
+    private Adapters() {
+    }
+
+    /**
+     * @param type  exact class of objects
+     * @param input source of data, e.g. {@code JsonParser.class}
+     * @return parser or {@code null} if it was not generated
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, I> Parser<T, I> parser(Class<T> type, Class<I> input) {
+        final Found found = find(type);
+        for (int i = 0; i < found.registries.length; ++i) {
+            final Parser<?, ?> p = found.parsers[i];
+            if (p != null && found.registries[i].inputType().isAssignableFrom(input)) return (Parser<T, I>) p;
+        }
+        return null;
+    }
+
+    /**
+     * @param type   exact class of objects
+     * @param output destination, e.g. {@code JsonGenerator.class}
+     * @return serializer or {@code null} if it was not generated
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, O> Serializer<T, O> serializer(Class<T> type, Class<O> output) {
+        final Found found = find(type);
+        for (int i = 0; i < found.registries.length; ++i) {
+            final Serializer<?, ?> s = found.serializers[i];
+            if (s != null && found.registries[i].outputType().isAssignableFrom(output)) return (Serializer<T, O>) s;
+        }
+        return null;
+    }
+
+    /**
+     * Adds registry which is not visible to {@link ServiceLoader},
+     * e.g. from another class loader or when resources are stripped.
+     */
+    public static synchronized void register(AdapterRegistry registry) {
+        final AdapterRegistry[] current = loaded();
+        final AdapterRegistry[] res = new AdapterRegistry[current.length + 1];
+        System.arraycopy(current, 0, res, 0, current.length);
+        res[current.length] = registry;
+        registries = res;
+        CACHE.clear();
+    }
+
+    private static Found find(Class<?> type) {
+        Found found = CACHE.get(type);
+        if (found == null) {
+            found = new Found(type, loaded());
+            final Found prev = CACHE.putIfAbsent(type, found);
+            if (prev != null) found = prev;
+        }
+        return found;
+    }
+
+    private static AdapterRegistry[] loaded() {
+        AdapterRegistry[] res = registries;
+        if (res == null) {
+            synchronized (Adapters.class) {
+                res = registries;
+                if (res == null) {
+                    registries = res = load();
+                }
+            }
+        }
+        return res;
+    }
+
+    private static AdapterRegistry[] load() {
+        final List<AdapterRegistry> res = new ArrayList<AdapterRegistry>();
+        final Iterator<AdapterRegistry> it = ServiceLoader.load(AdapterRegistry.class, Adapters.class.getClassLoader()).iterator();
+        while (true) {
+            try {
+                if (!it.hasNext()) break;
+                res.add(it.next());
+            } catch (ServiceConfigurationError e) {
+                // broken registry must not hide others
+            }
+        }
+        return res.isEmpty() ? NONE : res.toArray(NONE);
+    }
+
+    // adapters of one class from all registries, in order of registries
+    private static final class Found {
+        final AdapterRegistry[] registries;
+        final Parser<?, ?>[] parsers;
+        final Serializer<?, ?>[] serializers;
+
+        Found(Class<?> type, AdapterRegistry[] registries) {
+            this.registries = registries;
+            this.parsers = new Parser<?, ?>[registries.length];
+            this.serializers = new Serializer<?, ?>[registries.length];
+            for (int i = 0; i < registries.length; ++i) {
+                parsers[i] = registries[i].parser(type);
+                serializers[i] = registries[i].serializer(type);
+            }
+        }
+    }
+}
@@ -24,7 +24,7 @@ import java.lang.annotation.Target;
  * Validate value after parsing.
  * Only one method should be used.
  */
-@Retention(RetentionPolicy.SOURCE)
+@Retention(RetentionPolicy.CLASS)
 @Target({ElementType.TYPE, ElementType.FIELD, ElementType.METHOD})
 public @interface Validate {
     /**
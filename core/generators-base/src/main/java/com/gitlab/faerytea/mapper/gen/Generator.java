@@ -41,6 +41,10 @@ import javax.lang.model.type.ReferenceType;
  * Interface for generating type-specific mappers.
  * Must have constructor with single {@link ProcessingEnvironment}
  * parameter.
+ * <p>
+ * Processor is registered as aggregating for Gradle incremental compilation,
+ * so every file written to {@link Filer} must list mappables it was generated
+ * from as originating elements.
  */
 public interface Generator {
     /**
@@ -66,6 +70,33 @@ public interface Generator {
             @Nullable ValidatorInfo validator
     ) throws GeneratingException, IOException;
 
+    /**
+     * Same as {@link #generateFor(TypeElement, Map, AdapterInfo, ValidatorInfo)},
+     * but also generates partial parsers for {@code projections}.
+     * Default implementation ignores projections.
+     *
+     * @param targetType  type for adapter
+     * @param fields      fields of object
+     * @param onUnknown   unknown property handler
+     * @param validator   class validator
+     * @param projections mapping from projection names to serialized names
+     *                    of its properties, see
+     *                    {@link com.gitlab.faerytea.mapper.annotations.Projection Projection}
+     * @return fully qualified class name and its capabilities
+     * @throws GeneratingException when parser / serializer / mapper cannot be generated
+     * @throws IOException         when I/O error occurs (see {@link Filer})
+     */
+    @NotNull
+    default GeneratedResultInfo generateFor(
+            @NotNull TypeElement targetType,
+            @NotNull Map<@NotNull String, @NotNull FieldData> fields,
+            @NotNull AdapterInfo onUnknown,
+            @Nullable ValidatorInfo validator,
+            @NotNull Map<@NotNull String, @NotNull List<@NotNull String>> projections
+    ) throws GeneratingException, IOException {
+        return generateFor(targetType, fields, onUnknown, validator);
+    }
+
     /**
      * Generate {@link MappingAdapter} for enum {@code targetType};
      * constants can be found by its serialized names in {@code constants}.
@@ -167,6 +198,21 @@ public interface Generator {
     @NotNull
     Map<@NotNull TypeInfo, @NotNull AdapterInfo> getDefaultSerializers();
 
+    /**
+     * Returns handler for unknown properties which will be used
+     * for non-enum types when
+     * {@link com.gitlab.faerytea.mapper.annotations.Mappable#onUnknown()}
+     * is not specified. Unlike
+     * {@link com.gitlab.faerytea.mapper.adapters.DoNothing DoNothing}
+     * it can consume value of unknown property.
+     *
+     * @return handler or {@code null} for {@code DoNothing}
+     */
+    @Nullable
+    default AdapterInfo getDefaultUnknownPropertyHandler() {
+        return null;
+    }
+
     /**
      * Returns instances of classes from library
      *
@@ -204,7 +250,8 @@ public interface Generator {
      * This method will be called in last round.
      * All annotations already processed at this point,
      * so this is a perfect place to generate storage / facade
-     * for previously generated classes.
+     * for previously generated classes. Originating elements of such
+     * files are mappables which they serve.
      */
     default void writeEpilogue() {
     }
@@ -23,6 +23,8 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 
 import javax.annotation.processing.Filer;
 import javax.annotation.processing.Messager;
@@ -43,6 +45,12 @@ public abstract class SimpleGenerator implements Generator {
     protected final ProcessingEnvironment env;
     protected final ReferenceType inputType;
     protected final ReferenceType outputType;
+    /**
+     * Generator-specific options passed via {@code -AmapperAdditionalOptions}
+     * as comma-separated {@code key=value} pairs; bare {@code key} means
+     * {@code key=true}.
+     */
+    protected final Map<@NotNull String, @NotNull String> additionalOptions;
 
     protected SimpleGenerator(@NotNull ProcessingEnvironment env,
                               @NotNull CharSequence inputTypeName,
@@ -61,6 +69,7 @@ public abstract class SimpleGenerator implements Generator {
                     + inputTypeName + " and " + outputTypeName
                     + "\nProbably these classes are not in compile classpath?", e);
         }
+        this.additionalOptions = parseOptions(env.getOptions().get("mapperAdditionalOptions"));
     }
 
     @NotNull
@@ -81,6 +90,17 @@ public abstract class SimpleGenerator implements Generator {
         return Collections.emptySet();
     }
 
+    /**
+     * Check boolean option from {@link #additionalOptions}.
+     *
+     * @param name name of option
+     * @return {@code true} if option is present and not {@code false}
+     */
+    protected boolean isEnabled(@NotNull String name) {
+        final String value = additionalOptions.get(name);
+        return value != null && !value.equals("false");
+    }
+
     /**
      * Package of type or empty string for top-level class
      *
@@ -135,4 +155,21 @@ public abstract class SimpleGenerator implements Generator {
     protected DeclaredType typeFrom(@NotNull Class<?> clazz) {
         return typeUtils.getDeclaredType(typeElementFrom(clazz));
     }
+
+    @NotNull
+    private static Map<@NotNull String, @NotNull String> parseOptions(String options) {
+        if (options == null || options.isEmpty()) return Collections.emptyMap();
+        final Map<String, String> res = new HashMap<>();
+        for (final String entry : options.split(",")) {
+            final String trimmed = entry.trim();
+            if (trimmed.isEmpty()) continue;
+            final int eq = trimmed.indexOf('=');
+            if (eq == -1) {
+                res.put(trimmed, "true");
+            } else {
+                res.put(trimmed.substring(0, eq).trim(), trimmed.substring(eq + 1).trim());
+            }
+        }
+        return res;
+    }
 }
@@ -22,12 +22,16 @@ package com.gitlab.faerytea.mapper.gen;
 import com.gitlab.faerytea.mapper.adapters.MappingAdapter;
 import com.gitlab.faerytea.mapper.adapters.Parser;
 import com.gitlab.faerytea.mapper.adapters.Serializer;
+import com.gitlab.faerytea.mapper.adapters.TypedUnknownPropertyHandler;
 import com.gitlab.faerytea.mapper.annotations.DefaultMapper;
 import com.gitlab.faerytea.mapper.annotations.DefaultParser;
 import com.gitlab.faerytea.mapper.annotations.DefaultSerializer;
 import com.gitlab.faerytea.mapper.converters.ConvertWrapper;
+import com.gitlab.faerytea.mapper.metrics.Metrics;
 import com.gitlab.faerytea.mapper.polymorph.SubtypeResolver;
+import com.gitlab.faerytea.mapper.registry.AdapterRegistry;
 import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ArrayTypeName;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.FieldSpec;
@@ -38,21 +42,26 @@ import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 import com.squareup.javapoet.TypeVariableName;
+import com.squareup.javapoet.WildcardTypeName;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
+import java.io.Writer;
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.IntToLongFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -65,25 +74,60 @@ import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
 
 import static com.gitlab.faerytea.mapper.gen.SpecifiedMapper.AdapterType.*;
 
 @SuppressWarnings({"unused", "WeakerAccess"})
 public abstract class SimpleJsonGenerator extends SimpleGenerator {
-    private final Set<AdapterInfo> instanceless = new HashSet<>();
+    private static final String PROPERTY_NAMES = "PROPERTY_NAMES";
+    /**
+     * Adapters without instance, they get holders in {@link #writeEpilogue()};
+     * values are mappables which use them
+     */
+    private final Map<AdapterInfo, Set<TypeElement>> instanceless = new HashMap<>();
     private final Map<AdapterInfo, String> adapterNames = new HashMap<>();
     private final Map<AdapterInfo, String> localAdapterNames = new HashMap<>();
     private final Set<FieldSpec> genericAdapterFields = new LinkedHashSet<>();
+    private final Map<String, FieldSpec> constants = new LinkedHashMap<>();
     private final Set<ClassName> circular = new HashSet<>();
     private final ClassName parserClass = ClassName.get(Parser.class);
     private final ClassName serializerClass = ClassName.get(Serializer.class);
     private final ClassName mapperClass = ClassName.get(MappingAdapter.class);
+    private final ClassName metricsClass = ClassName.get(Metrics.class);
     private final TypeName inputClassName;
     private final TypeName outputClassName;
     private final TypeMirror stringType;
     private GeneratedResultInfo currentGenerated = null;
+    private TypeElement currentTarget = null;
+    /**
+     * Adapters of non-generic types for {@link AdapterRegistry}, in order of generation
+     */
+    private final Map<TypeElement, GeneratedResultInfo> registered = new LinkedHashMap<>();
+    /**
+     * Fully qualified name of generated {@link AdapterRegistry}, empty for default,
+     * {@code null} if disabled by {@code -AmapperRegistry=false}
+     */
+    @Nullable
+    private final String registryName;
+    /**
+     * How generated code refers to adapter which is being generated
+     */
+    private String self = "this";
+    /**
+     * Whether unknown property handler of adapter which is being generated
+     * is {@link TypedUnknownPropertyHandler}
+     */
+    private boolean typedOnUnknown = false;
+    /**
+     * Whether generated {@code toObject} / {@code write} report to {@link Metrics},
+     * enabled by {@code -AmapperMetrics}
+     */
+    protected final boolean metrics;
 
     protected SimpleJsonGenerator(@NotNull ProcessingEnvironment env,
                                   @NotNull CharSequence inputTypeName,
@@ -92,6 +136,13 @@ public abstract class SimpleJsonGenerator extends SimpleGenerator {
         inputClassName = TypeName.get(getInputTypeName());
         outputClassName = TypeName.get(getOutputTypeName());
         stringType = elemUtils.getTypeElement("java.lang.String").asType();
+        final String metricsOption = env.getOptions().get("mapperMetrics");
+        metrics = metricsOption != null && !metricsOption.isEmpty()
+                && !metricsOption.equals("false") && !metricsOption.equals("disable");
+        final String registryOption = env.getOptions().get("mapperRegistry");
+        registryName = registryOption == null || registryOption.equals("true") ? ""
+                : registryOption.equals("false") || registryOption.equals("disable") ? null
+                : registryOption;
     }
 
     @NotNull
@@ -100,7 +151,17 @@ public abstract class SimpleJsonGenerator extends SimpleGenerator {
                                            @NotNull Map<@NotNull String, @NotNull FieldData> fields,
                                            @NotNull AdapterInfo onUnknown,
                                            @Nullable ValidatorInfo validator) throws GeneratingException, IOException {
-        return generateFor(targetType, fields, null, onUnknown, validator, false);
+        return generateFor(targetType, fields, null, onUnknown, validator, false, Collections.emptyMap());
+    }
+
+    @NotNull
+    @Override
+    public GeneratedResultInfo generateFor(@NotNull TypeElement targetType,
+                                           @NotNull Map<@NotNull String, @NotNull FieldData> fields,
+                                           @NotNull AdapterInfo onUnknown,
+                                           @Nullable ValidatorInfo validator,
+                                           @NotNull Map<@NotNull String, @NotNull List<@NotNull String>> projections) throws GeneratingException, IOException {
+        return generateFor(targetType, fields, null, onUnknown, validator, false, projections);
     }
 
     @Override
@@ -109,7 +170,7 @@ public abstract class SimpleJsonGenerator extends SimpleGenerator {
                                            @NotNull ConcreteTypeResolver resolver,
                                            boolean markAsDefault,
                                            @Nullable ValidatorInfo validator) throws GeneratingException, IOException {
-        return generateFor(targetType, null, resolver, null, validator, markAsDefault);
+        return generateFor(targetType, null, resolver, null, validator, markAsDefault, Collections.emptyMap());
     }
 
     @Override
@@ -120,11 +181,13 @@ public abstract class SimpleJsonGenerator extends SimpleGenerator {
                                            @NotNull AdapterInfo stringParser,
                                            @NotNull AdapterInfo stringSerializer) throws IOException {
         currentGenerated = nameFor(targetType);
+        currentTarget = targetType;
         final InstanceData instance = currentGenerated.adapter.instance;
         assert instance != null; // we know it
         final String adapterClassName = currentGenerated.adapter.className;
         //region enum init
         final TypeSpec.Builder builder = TypeSpec.classBuilder(ClassName.bestGuess(adapterClassName))
+                .addOriginatingElement(targetType)
                 .addModifiers(Modifier.PUBLIC);
         builder.addType(TypeSpec.classBuilder("Holder")
                 .addModifiers(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
@@ -141,11 +204,13 @@ public abstract class SimpleJsonGenerator extends SimpleGenerator {
         adapterNames.clear();
         localAdapterNames.clear();
         genericAdapterFields.clear();
+        constants.clear();
         final String stringParserName = acceptAdapter(stringParser, stringType);
         final String stringSerializerName = acceptAdapter(stringSerializer, stringType);
         final String onUnknownName = adapterName(onUnknown);
-        if (onUnknown.instance == null) instanceless.add(onUnknown);
+        if (onUnknown.instance == null) needsHolder(onUnknown);
         adapterNames.put(onUnknown, onUnknownName);
+        typedOnUnknown = isTyped(onUnknown);
         //endregion
         //region enum parser
         final CodeBlock.Builder toObject = CodeBlock.builder()
@@ -154,8 +219,12 @@ public abstract class SimpleJsonGenerator extends SimpleGenerator {
         for (final Map.Entry<@NotNull String, @NotNull String> e : constants.entrySet()) {
             toObject.addStatement("case $S: return $T.$L", e.getKey(), target, e.getValue());
         }
-        toObject.addStatement("default: $L.handle(got, in); break", onUnknownName)
-                .endControlFlow() // switch
+        if (typedOnUnknown) {
+            toObject.addStatement("default: $L.handle($T.class, got, in); break", onUnknownName, target);
+        } else {
+            toObject.addStatement("default: $L.handle(got, in); break", onUnknownName);
+        }
+        toObject.endControlFlow() // switch
                 .addStatement("return null");
         //endregion
         //region enum serializer
@@ -187,6 +256,7 @@ public abstract class SimpleJsonGenerator extends SimpleGenerator {
                         .build());
         appendAdapterFields(builder);
         JavaFile.builder(packageOf(targetType), builder.build()).build().writeTo(filer);
+        registered.put(targetType, currentGenerated);
         return new GeneratedResultInfo(currentGenerated.adapter, true, true);
     }
 
@@ -196,15 +266,18 @@ public abstract class SimpleJsonGenerator extends SimpleGenerator {
                                             @Nullable ConcreteTypeResolver subtypes,
                                             @Nullable AdapterInfo onUnknown,
                                             @Nullable ValidatorInfo validator,
-                                            boolean markAsDefault) throws GeneratingException, IOException {
+                                            boolean markAsDefault,
+                                            @NotNull Map<@NotNull String, @NotNull List<@NotNull String>> projections) throws GeneratingException, IOException {
         if (!((subtypes == null && fields != null && onUnknown != null)
                 || (subtypes != null && fields == null && onUnknown == null)))
             throw new AssertionError();
         currentGenerated = nameFor(targetType);
+        currentTarget = targetType;
         final InstanceData instance = currentGenerated.adapter.instance;
         assert instance != null; // we know it
         final String adapterClassName = currentGenerated.adapter.className;
         final TypeSpec.Builder builder = TypeSpec.classBuilder(ClassName.bestGuess(adapterClassName))
+                .addOriginatingElement(targetType)
                 .addModifiers(Modifier.PUBLIC);
         builder.addType(TypeSpec.classBuilder("Holder")
                 .addModifiers(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
@@ -218,6 +291,7 @@ public abstract class SimpleJsonGenerator extends SimpleGenerator {
         adapterNames.clear();
         localAdapterNames.clear();
         genericAdapterFields.clear();
+        constants.clear();
         boolean par, ser;
         final boolean parameterized = !targetType.getTypeParameters().isEmpty();
         final List<TypeVariableName> typeVariables = targetType.getTypeParameters().stream().map(TypeVariableName::get).collect(Collectors.toList());
@@ -226,7 +300,7 @@ public abstract class SimpleJsonGenerator extends SimpleGenerator {
                 : ClassName.get(targetType);
         if (fields != null) { // generate mapper
             if (onUnknown.instance == null) {
-                instanceless.add(onUnknown);
+                needsHolder(onUnknown);
             }
             ser = true;
             par = targetType.getKind() == ElementKind.CLASS && !targetType.getModifiers().contains(Modifier.ABSTRACT);
@@ -236,7 +310,7 @@ public abstract class SimpleJsonGenerator extends SimpleGenerator {
                     ValidatorInfo.ValidatorClass cv = (ValidatorInfo.ValidatorClass) validator;
                     final AdapterInfo asAdapterInfo = cv.asAdapterInfo();
                     if (cv.instance == null) {
-                        instanceless.add(asAdapterInfo);
+                        needsHolder(asAdapterInfo);
                     }
                     validatorName = adapterName(asAdapterInfo);
                     adapterNames.put(asAdapterInfo, validatorName);
@@ -253,6 +327,7 @@ public abstract class SimpleJsonGenerator extends SimpleGenerator {
             }
             final String onUnknownName = adapterName(onUnknown);
             adapterNames.put(onUnknown, onUnknownName);
+            typedOnUnknown = isTyped(onUnknown);
             if (parameterized) {
                 for (final TypeVariableName e : typeVariables) {
                     final String parameterName = "var" + e.name;
@@ -271,7 +346,34 @@ public abstract class SimpleJsonGenerator extends SimpleGenerator {
             }
             modify(builder, par, ser);
             if (par) {
-                generateParser(targetType, fields, validator, adapterClassName, builder, validatorName, parameterized, typeVariables, targetTypeName, onUnknownName);
+                generateParser(targetType, fields, null, false, validator, adapterClassName, builder, validatorName, parameterized, typeVariables, targetTypeName, onUnknownName);
+                if (!parameterized && fields.values().stream().allMatch(f -> settableInPlace(targetType, f))) {
+                    generateParser(targetType, fields, null, true, validator, adapterClassName, builder, validatorName, false, typeVariables, targetTypeName, onUnknownName);
+                }
+            }
+            if (!projections.isEmpty()) {
+                if (!par) throw new GeneratingException("projections require parser");
+                if (parameterized) throw new GeneratingException("projections are not supported for generic types");
+                if (skipValue() == null) throw new GeneratingException("projections are not supported by " + getClass().getSimpleName());
+                self = adapterClassName + ".Holder." + instance.instanceJavaName;
+                try {
+                    for (final Map.Entry<String, List<String>> p : projections.entrySet()) {
+                        final String projectionName = "Projection_" + p.getKey();
+                        final TypeSpec.Builder projection = TypeSpec.classBuilder(projectionName)
+                                .addModifiers(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                                .addSuperinterface(parameterized(targetTypeName, PARSER))
+                                .addField(FieldSpec.builder(
+                                        ClassName.bestGuess(projectionName),
+                                        "INSTANCE",
+                                        Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                                        .initializer("new $L()", projectionName)
+                                        .build());
+                        generateParser(targetType, fields, new HashSet<>(p.getValue()), false, validator, adapterClassName, projection, validatorName, false, typeVariables, targetTypeName, onUnknownName);
+                        builder.addType(projection.build());
+                    }
+                } finally {
+                    self = "this";
+                }
             }
             if (ser) {
                 generateSerializer(targetType, fields, validator, adapterClassName, builder, validatorName, parameterized, typeVariables, targetTypeName);
@@ -309,11 +411,11 @@ public abstract class SimpleJsonGenerator extends SimpleGenerator {
                         .addException(IOException.class)
                         .addAnnotations(parameterized ? Collections.emptySet() : Collections.singleton(AnnotationSpec.builder(Override.class).build()))
                         .addModifiers(Modifier.PUBLIC)
-                        .addCode(CodeBlock.builder()
+                        .addCode(measured(CodeBlock.builder()
                                 .addStatement("final $T res", targetTypeName)
                                 .add(writeResolverRead(subtypes, "res", subtypes.classGenerics))
                                 .addStatement("return res")
-                                .build())
+                                .build(), targetTypeName, true))
                         .build());
                 /* TODO: 26.02.20 validator */
                 if (parameterized) {
@@ -351,7 +453,7 @@ public abstract class SimpleJsonGenerator extends SimpleGenerator {
                         .addModifiers(Modifier.PUBLIC)
                         .returns(TypeName.VOID)
                         .addException(IOException.class)
-                        .addCode(writeResolverWrite(subtypes, "object", subtypes.classGenerics))
+                        .addCode(measured(writeResolverWrite(subtypes, "object", subtypes.classGenerics), targetTypeName, false))
                         .build());
                 /* TODO: 26.02.20 validator */
                 if (parameterized) {
@@ -432,7 +534,10 @@ public abstract class SimpleJsonGenerator extends SimpleGenerator {
         }
         appendAdapterFields(builder);
         JavaFile.builder(packageOf(targetType), builder.build()).build().writeTo(filer);
-        return new GeneratedResultInfo(currentGenerated.adapter, par, ser);
+        final GeneratedResultInfo res = new GeneratedResultInfo(currentGenerated.adapter, par, ser);
+        // generic adapters need adapters of type arguments
+        if (!parameterized) registered.put(targetType, res);
+        return res;
     }
 
     private void appendAdapterFields(@NotNull TypeSpec.Builder builder) {
@@ -446,6 +551,18 @@ public abstract class SimpleJsonGenerator extends SimpleGenerator {
                     .build());
         }
         builder.addFields(genericAdapterFields);
+        builder.addFields(constants.values());
+    }
+
+    private void needsHolder(@NotNull AdapterInfo adapter) {
+        instanceless.computeIfAbsent(adapter, k -> new HashSet<>()).add(currentTarget);
+    }
+
+    private boolean isTyped(@NotNull AdapterInfo handler) {
+        final TypeElement handlerType = elemUtils.getTypeElement(handler.className);
+        return handlerType != null && typeUtils.isAssignable(
+                typeUtils.erasure(handlerType.asType()),
+                typeUtils.erasure(typeFrom(TypedUnknownPropertyHandler.class.getCanonicalName())));
     }
 
     private void printSubtypesWarning(@NotNull TypeElement targetType, @NotNull FieldData v) {
@@ -536,6 +653,8 @@ public abstract class SimpleJsonGenerator extends SimpleGenerator {
 
     private void generateParser(@NotNull TypeElement targetType,
                                 @NotNull Map<@NotNull String, @NotNull FieldData> fields,
+                                @Nullable Set<@NotNull String> projected,
+                                boolean intoReuse,
                                 @Nullable ValidatorInfo validator,
                                 String adapterClassName,
                                 TypeSpec.Builder builder,
@@ -549,53 +668,105 @@ public abstract class SimpleJsonGenerator extends SimpleGenerator {
         code.add(initialAdvance());
         code.add("\n// start generated\n");
         //region parser init
+        // properties which are actually read, others keep default values
+        final Map<String, FieldData> parsed = new LinkedHashMap<>();
         for (final Map.Entry<String, FieldData> field : fields.entrySet()) {
             final String key = field.getKey();
             final FieldData data = field.getValue();
             final Setter setter = data.setters.get(0);
             code.addStatement("$T _$L = $L", data.fieldType, key, setter.defaultValue);
+            if (projected != null && !projected.contains(key)) continue;
+            parsed.put(key, data);
             final AdapterInfo adapter = setter.adapter;
             if (data.setters.get(0).typeResolver == null) acceptAdapter(adapter, data.fieldType);
         }
         //endregion
         //region parse loop
-        code.add("\n//region parsing\n")
-                .addStatement("int cnt = 0")
-                .beginControlFlow("while (cnt < $L)", fields.size())
+        final CodeBlock predicted = !canPredictNames() ? null : nameIs(constant(
+                ArrayTypeName.of(String.class),
+                PROPERTY_NAMES,
+                CodeBlock.of("new String[]{$L}", parsed.keySet().stream().map(k -> CodeBlock.of("$S", k).toString()).collect(Collectors.joining(", "))))
+                + "[expected]");
+        final int words = Math.max(1, (parsed.size() + 63) / 64);
+        code.add("\n//region parsing\n");
+        for (int w = 0; w < words; ++w) {
+            code.addStatement("long $L = 0L", seenWord(w, words));
+        }
+        if (predicted != null) {
+            code.addStatement("int expected = 0");
+        }
+        code.beginControlFlow("while ($L)", seenCondition(words, w -> w == words - 1 && parsed.size() % 64 != 0 ? (1L << parsed.size() % 64) - 1 : -1L, true))
                 .addStatement("final String name")
-                .add(nextName())
+                .add(nextName(parsed.keySet()))
                 .beginControlFlow("if (name == null)")
                 .addStatement("break")
-                .nextControlFlow("else")
-                .beginControlFlow("switch (name)");
-        for (final Map.Entry<String, FieldData> field : fields.entrySet()) {
+                .nextControlFlow("else");
+        if (predicted != null) {
+            // property names are checked only on misprediction
+            code.addStatement("final int index")
+                    .beginControlFlow("if (expected < $L && $L)", parsed.size(), predicted)
+                    .addStatement("index = expected")
+                    .nextControlFlow("else")
+                    .beginControlFlow("switch (name)");
+            int index = 0;
+            for (final String key : parsed.keySet()) {
+                code.addStatement("case $S: index = $L; break", key, index++);
+            }
+            code.addStatement("default: index = -1; break")
+                    .endControlFlow() // switch
+                    .endControlFlow() // else
+                    .beginControlFlow("switch (index)");
+        } else {
+            code.beginControlFlow("switch (name)");
+        }
+        int index = 0;
+        for (final Map.Entry<String, FieldData> field : parsed.entrySet()) {
             final String key = field.getKey();
             final FieldData data = field.getValue();
             final Setter setter = data.setters.get(0);
             final ConverterData converter = setter.converter;
             final TypeName tmpTp = TypeName.get(converter == null ? data.fieldType : converter.from);
-            code.beginControlFlow("case $S:", key)
-                    .addStatement("final $T tmp", tmpTp);
+            if (predicted != null) {
+                code.beginControlFlow("case $L:", index);
+            } else {
+                code.beginControlFlow("case $S:", key);
+            }
+            code.addStatement("final $T tmp", tmpTp);
             if (setter.typeResolver != null) {
                 code.add(writeResolverRead(setter.typeResolver, "tmp", setter.genericArguments));
+            } else if (intoReuse && converter == null && !data.getters.isEmpty()
+                    && data.getters.get(0).converter == null && canParseInto(setter.adapter)) {
+                final Getter getter = data.getters.get(0);
+                code.addStatement("tmp = $L.toObject(in$L, reuse.$L)", get(setter.adapter), processGenerics(setter.genericArguments, true),
+                        getter.isMethod ? getter.getterName + "()" : getter.getterName);
             } else {
-                code.addStatement("tmp = $L.toObject(in$L)", get(setter.adapter), processGenerics(setter.genericArguments));
+                code.addStatement("tmp = $L.toObject(in$L)", get(setter.adapter), processGenerics(setter.genericArguments, true));
             }
             if (converter != null) {
                 final String convName = adapterName(converter.converter);
-                if (converter.converter.instance == null) instanceless.add(converter.converter);
+                if (converter.converter.instance == null) needsHolder(converter.converter);
                 adapterNames.put(converter.converter, convName);
                 code.addStatement("_$L = $L.$L(tmp)", key, convName, converter.decodeName());
             } else {
                 code.addStatement("_$L = tmp", key);
             }
-            code.addStatement("++cnt")
-                    .addStatement("break")
+            code.addStatement("$L |= 1L << $L", seenWord(index / 64, words), index % 64);
+            ++index;
+            if (predicted != null) {
+                code.addStatement("expected = $L", index);
+            }
+            code.addStatement("break")
                     .endControlFlow();
         }
-        code.beginControlFlow("default:")
-                .addStatement("$L.handle(name, in)", onUnknown)
-                .endControlFlow()  // default
+        code.beginControlFlow("default:");
+        if (projected == null && typedOnUnknown) {
+            code.addStatement("$L.handle($T.class, name, in)", onUnknown, ClassName.get(targetType));
+        } else if (projected == null) {
+            code.addStatement("$L.handle(name, in)", onUnknown);
+        } else {
+            code.add(skipValue());
+        }
+        code.endControlFlow()  // default
                 .endControlFlow()  // switch
                 .endControlFlow()  // else
                 .endControlFlow(); // loop
@@ -603,24 +774,34 @@ public abstract class SimpleJsonGenerator extends SimpleGenerator {
         //endregion
         //region assembling
         code.add("\n//region building\n");
-        for (final Map.Entry<String, FieldData> entry : fields.entrySet()) {
-            final FieldData data = entry.getValue();
-            if (data.required) {
-                final String def = data.setters.get(0).defaultValue;
-                final String intermediate = data.fieldType.getKind().isPrimitive() || def.equals("null") ? "def == _$L" : "def.equals(_$L)";
-                code.addStatement("if ($L) throw new IllegalStateException($S)", intermediate, entry.getKey(), "Field " + entry.getKey() + " is required!");
+        final long[] required = new long[words];
+        index = 0;
+        for (final FieldData data : parsed.values()) {
+            if (data.required) required[index / 64] |= 1L << index % 64;
+            ++index;
+        }
+        if (Arrays.stream(required).anyMatch(m -> m != 0)) {
+            // single check for success path, detailed one for error message
+            code.beginControlFlow("if ($L)", seenCondition(words, w -> required[w], false));
+            index = 0;
+            for (final Map.Entry<String, FieldData> entry : parsed.entrySet()) {
+                if (entry.getValue().required) {
+                    code.addStatement("if (($1L & 1L << $2L) == 0) throw new IllegalStateException($3S)", seenWord(index / 64, words), index % 64, "Field " + entry.getKey() + " is required!");
+                }
+                ++index;
             }
+            code.endControlFlow();
         }
-        final List<String> constParams = Generator.biggestConstructor(fields);
+        final List<String> constParams = intoReuse ? Collections.emptyList() : Generator.biggestConstructor(fields);
         for (final String param : constParams) {
             final FieldData data = fields.get(param);
-            if (data.validator != null) {
+            if (data.validator != null && parsed.containsKey(param)) {
                 String instanceName = null;
                 if (data.validator instanceof ValidatorInfo.ValidatorClass) {
                     final ValidatorInfo.ValidatorClass cv = (ValidatorInfo.ValidatorClass) data.validator;
                     final AdapterInfo e = cv.asAdapterInfo();
                     if (cv.instance == null) {
-                        instanceless.add(e);
+                        needsHolder(e);
                     }
                     instanceName = adapterName(e);
                     adapterNames.put(e, instanceName);
@@ -629,7 +810,11 @@ public abstract class SimpleJsonGenerator extends SimpleGenerator {
                         .add("\n");
             }
         }
-        code.addStatement("res = new $T($L)", targetType, joinParams(constParams));
+        if (intoReuse) {
+            code.addStatement("res = reuse");
+        } else {
+            code.addStatement("res = new $T($L)", targetType, joinParams(constParams));
+        }
         final Set<String> remaining = new HashSet<>(fields.keySet());
         remaining.removeAll(constParams);
         for (final Map.Entry<String, FieldData> field : fields.entrySet()) {
@@ -639,13 +824,14 @@ public abstract class SimpleJsonGenerator extends SimpleGenerator {
                 for (final Setter setter : field.getValue().setters) {
                     switch (setter.setterType) {
                         case DIRECT:
+                            if (intoReuse && isFinalField(targetType, setter.setterName)) continue;
                             code.addStatement("res.$L = _$L", setter.setterName, key);
                             break;
                         case CLASSIC:
                             code.addStatement("res.$L(_$L)", setter.setterName, key);
                             break;
                         case BULK:
-                            if (remaining.containsAll(setter.propertyNames)) {
+                            if (!intoReuse && remaining.containsAll(setter.propertyNames)) {
                                 code.addStatement("res.$L($L)", setter.setterName, joinParams(setter.propertyNames));
                                 remaining.removeAll(setter.propertyNames);
                             } else {
@@ -655,13 +841,13 @@ public abstract class SimpleJsonGenerator extends SimpleGenerator {
                         case CONSTRUCTOR:
                             continue;
                     }
-                    if (v != null) {
+                    if (v != null && parsed.containsKey(key)) {
                         String instanceName = null;
                         if (v instanceof ValidatorInfo.ValidatorClass) {
                             final ValidatorInfo.ValidatorClass cv = (ValidatorInfo.ValidatorClass) v;
                             final AdapterInfo e = cv.asAdapterInfo();
                             if (cv.instance == null) {
-                                instanceless.add(e);
+                                needsHolder(e);
                             }
                             instanceName = adapterName(e);
                             adapterNames.put(e, instanceName);
@@ -678,7 +864,7 @@ public abstract class SimpleJsonGenerator extends SimpleGenerator {
             throw new GeneratingException("Failed generation: cannot set " + remaining);
         code.add("\n//endregion\n");
         code.add(finalMove());
-        if (validator != null) {
+        if (validator != null && projected == null) {
             code.add("\n");
             code.add(validator.javaStatement("<top level>", targetTypeName.toString(), targetTypeName.toString(), targetType.toString(), "res", validatorName));
             code.add("\n");
@@ -694,6 +880,18 @@ public abstract class SimpleJsonGenerator extends SimpleGenerator {
             }
         }
         final List<ParameterSpec> genericParams = typeVariables.stream().map(param -> ParameterSpec.builder(parameterized(param, PARSER), "var" + param.name, Modifier.FINAL).build()).collect(Collectors.toList());
+        if (intoReuse) {
+            builder.addMethod(MethodSpec.methodBuilder("toObject")
+                    .addJavadoc("Parses object into {@code reuse}, overwriting all its properties.\n")
+                    .addParameter(inputClassName, "in", Modifier.FINAL)
+                    .addParameter(targetTypeName, "reuse", Modifier.FINAL)
+                    .returns(targetTypeName)
+                    .addException(IOException.class)
+                    .addModifiers(Modifier.PUBLIC)
+                    .addCode(measured(varInit.add(code.build()).build(), targetTypeName, true))
+                    .build());
+            return;
+        }
         builder.addMethod(MethodSpec.methodBuilder("toObject")
                 .addTypeVariables(typeVariables)
                 .addParameter(inputClassName, "in", Modifier.FINAL)
@@ -702,7 +900,7 @@ public abstract class SimpleJsonGenerator extends SimpleGenerator {
                 .addException(IOException.class)
                 .addAnnotations(parameterized ? Collections.emptySet() : Collections.singleton(AnnotationSpec.builder(Override.class).build()))
                 .addModifiers(Modifier.PUBLIC)
-                .addCode(varInit.add(code.build()).build())
+                .addCode(measured(varInit.add(code.build()).build(), targetTypeName, true))
                 .build());
 
         if (parameterized) {
@@ -730,6 +928,22 @@ public abstract class SimpleJsonGenerator extends SimpleGenerator {
         }
     }
 
+    private boolean settableInPlace(@NotNull TypeElement targetType, @NotNull FieldData data) {
+        for (final Setter s : data.setters) {
+            if (s.setterType == Setter.Type.CLASSIC
+                    || s.setterType == Setter.Type.DIRECT && !isFinalField(targetType, s.setterName)) return true;
+        }
+        return false;
+    }
+
+    private boolean isFinalField(@NotNull TypeElement targetType, @NotNull String name) {
+        for (final Element e : elemUtils.getAllMembers(targetType)) {
+            if (e.getKind() == ElementKind.FIELD && e.getSimpleName().contentEquals(name))
+                return e.getModifiers().contains(Modifier.FINAL);
+        }
+        return false;
+    }
+
     private void generateSerializer(@NotNull TypeElement targetType, @NotNull Map<@NotNull String, @NotNull FieldData> fields, @Nullable ValidatorInfo validator, String adapterClassName, TypeSpec.Builder builder, String validatorName, boolean parameterized, List<TypeVariableName> typeVariables, TypeName targetTypeName) throws GeneratingException {
         final CodeBlock.Builder code = CodeBlock.builder();
         if (validator != null) {
@@ -799,7 +1013,7 @@ public abstract class SimpleJsonGenerator extends SimpleGenerator {
                     final ValidatorInfo.ValidatorClass cv = (ValidatorInfo.ValidatorClass) data.validator;
                     final AdapterInfo e = cv.asAdapterInfo();
                     if (cv.instance == null) {
-                        instanceless.add(e);
+                        needsHolder(e);
                     }
                     instanceName = adapterName(e);
                     adapterNames.put(e, instanceName);
@@ -814,14 +1028,14 @@ public abstract class SimpleJsonGenerator extends SimpleGenerator {
                 final String convertName = adapterName(getter.converter.converter);
                 adapterNames.put(getter.converter.converter, convertName);
                 if (getter.converter.converter.instance == null)
-                    instanceless.add(getter.converter.converter);
+                    needsHolder(getter.converter.converter);
                 expr.add("$L.$L(_$L)", convertName, getter.converter.encodeName(), key);
             } else {
                 expr.add("_$L", key);
             }
             if (getter.typeResolver == null) {
                 final String adaName = acceptAdapter(getter.adapter, data.fieldType);
-                code.addStatement("$L.write($L, destination$L)", adaName, expr.build(), processGenerics(getter.genericArguments));
+                code.addStatement("$L.write($L, destination$L)", adaName, expr.build(), processGenerics(getter.genericArguments, false));
             } else {
                 if (getter.converter != null) {
                     code.beginControlFlow("") // visibility scope
@@ -857,7 +1071,7 @@ public abstract class SimpleJsonGenerator extends SimpleGenerator {
                 .addModifiers(Modifier.PUBLIC)
                 .returns(TypeName.VOID)
                 .addException(IOException.class)
-                .addCode(varInit.add(code.build()).build())
+                .addCode(measured(varInit.add(code.build()).build(), targetTypeName, false))
                 .build());
 
         if (parameterized) {
@@ -887,11 +1101,11 @@ public abstract class SimpleJsonGenerator extends SimpleGenerator {
     }
 
     @NotNull
-    private CodeBlock processGenerics(List<@NotNull GenericTypeInfo> genericArguments) throws GeneratingException {
+    private CodeBlock processGenerics(List<@NotNull GenericTypeInfo> genericArguments, boolean isParser) throws GeneratingException {
         final CodeBlock.Builder generics = CodeBlock.builder();
         for (final GenericTypeInfo gti : genericArguments) {
             try {
-                generics.add(", " + buildApplication(gti, false));
+                generics.add(", " + buildApplication(gti, isParser));
             } catch (WrappedException e) {
                 e.unwrap();
             }
@@ -910,12 +1124,12 @@ public abstract class SimpleJsonGenerator extends SimpleGenerator {
         }
         final String adapterName;
         if (adapter.equals(currentGenerated.adapter)) {
-            adapterName = "this";
-        } else if (!tp.getKind().isPrimitive() && circular.contains(ClassName.bestGuess(typeUtils.erasure(tp).toString()))) {
+            adapterName = self;
+        } else if (tp.getKind() == TypeKind.DECLARED && circular.contains(ClassName.bestGuess(typeUtils.erasure(tp).toString()))) {
             adapterName = adapterName(adapter);
             localAdapterNames.put(adapter, adapterName);
         } else {
-            if (adapter.instance == null) instanceless.add(adapter);
+            if (adapter.instance == null) needsHolder(adapter);
             adapterName = adapterName(adapter);
             adapterNames.put(adapter, adapterName);
         }
@@ -928,7 +1142,7 @@ public abstract class SimpleJsonGenerator extends SimpleGenerator {
         if (res != null) return res;
         final String local = localAdapterNames.get(adapter);
         if (local != null) return local;
-        if (adapter.equals(currentGenerated.adapter)) return "this";
+        if (adapter.equals(currentGenerated.adapter)) return self;
         throw new GeneratingException("adapter " + adapter + " is not found");
     }
 
@@ -959,6 +1173,29 @@ public abstract class SimpleJsonGenerator extends SimpleGenerator {
                 + (adapter.instance != null && adapter.instance.namedInstanceName != null ? "__" + adapter.instance.namedInstanceName : "");
     }
 
+    @NotNull
+    private static String seenWord(int word, int words) {
+        return words == 1 ? "seen" : "seen" + word;
+    }
+
+    /**
+     * Builds condition "some of bits from masks are not seen yet".
+     *
+     * @param exact {@code true} if masks contain all bits which could be set
+     */
+    @NotNull
+    private static String seenCondition(int words, @NotNull IntToLongFunction masks, boolean exact) {
+        final List<String> parts = new ArrayList<>(words);
+        for (int w = 0; w < words; ++w) {
+            final long mask = masks.applyAsLong(w);
+            if (mask == 0) continue;
+            final String literal = "0x" + Long.toHexString(mask) + "L";
+            final String word = seenWord(w, words);
+            parts.add(exact || mask == -1L ? word + " != " + literal : "(" + word + " & " + literal + ") != " + literal);
+        }
+        return String.join(" || ", parts);
+    }
+
     @NotNull
     private String joinParams(@NotNull Collection<@NotNull String> constParams) {
         return constParams.stream().map(n -> "_" + n).collect(Collectors.joining(", "));
@@ -972,10 +1209,10 @@ public abstract class SimpleJsonGenerator extends SimpleGenerator {
         final CodeBlock.Builder builder = CodeBlock.builder()
                 .add(initialAdvance())
                 .addStatement("final String name;")
-                .add(nextName())
+                .add(nextName(ctr.subtypes.keySet()))
                 .beginControlFlow("if (name != null)")
                 .beginControlFlow("switch (name)");
-        final CodeBlock genericsAddition = processGenerics(generics);
+        final CodeBlock genericsAddition = processGenerics(generics, true);
         for (final Map.Entry<String, SpecifiedMapper> e : ctr.subtypes.entrySet()) {
             final SpecifiedMapper mapper = e.getValue();
             final AdapterInfo parser = mapper.parser;
@@ -999,32 +1236,43 @@ public abstract class SimpleJsonGenerator extends SimpleGenerator {
                                          @NotNull String objectName,
                                          @NotNull List<GenericTypeInfo> generics) throws GeneratingException {
         final CodeBlock.Builder builder = CodeBlock.builder();
-        final CodeBlock genericsAddition = processGenerics(generics);
+        final CodeBlock genericsAddition = processGenerics(generics, false);
         switch (ctr.variant) {
             case WRAPPER_KEY:
+                // exact classes are compared by identity, no names are computed
                 builder.add(startObject())
-                        .beginControlFlow("switch ($L.getClass().getCanonicalName())", objectName);
+                        .beginControlFlow("") // visibility scope
+                        .addStatement("final Class<?> __class = $L.getClass()", objectName);
+                boolean first = true;
                 for (Map.Entry<String, SpecifiedMapper> e : ctr.subtypes.entrySet()) {
                     final SpecifiedMapper mapper = e.getValue();
                     final AdapterInfo serializer = mapper.serializer;
                     if (serializer == null) throw new GeneratingException("got null serializer for " + ctr);
                     acceptAdapter(serializer, mapper.type);
-                    builder.beginControlFlow("case $S:", mapper.type.toString())
-                            .addStatement(writeProperty(e.getKey()))
-                            .addStatement("$L.write(($T) $L, destination$L)", get(serializer), mapper.type, objectName, genericsAddition)
-                            .addStatement("break")
-                            .endControlFlow();
+                    final TypeName erased = TypeName.get(typeUtils.erasure(mapper.type));
+                    if (first) {
+                        builder.beginControlFlow("if (__class == $T.class)", erased);
+                        first = false;
+                    } else {
+                        builder.nextControlFlow("else if (__class == $T.class)", erased);
+                    }
+                    builder.add(writeProperty(e.getKey()))
+                            .addStatement("$L.write(($T) $L, destination$L)", get(serializer), mapper.type, objectName, genericsAddition);
                 }
                 if (ctr.defaultSubtype.serializer != null) {
                     final SpecifiedMapper defaultSubtype = ctr.defaultSubtype;
                     acceptAdapter(defaultSubtype.serializer, defaultSubtype.type);
-                    builder.beginControlFlow("default:")
-                            .addStatement(writeProperty(defaultSubtype.type.toString()))
-                            .addStatement("$L.write(($T) $L, destination$L)", get(defaultSubtype.serializer), defaultSubtype.type, objectName, genericsAddition)
-                            .addStatement("break")
-                            .endControlFlow();
+                    if (first) {
+                        builder.beginControlFlow("");
+                        first = false;
+                    } else {
+                        builder.nextControlFlow("else");
+                    }
+                    builder.add(writeProperty(defaultSubtype.type.toString()))
+                            .addStatement("$L.write(($T) $L, destination$L)", get(defaultSubtype.serializer), defaultSubtype.type, objectName, genericsAddition);
                 }
-                builder.endControlFlow()
+                if (!first) builder.endControlFlow();
+                builder.endControlFlow() // scope
                         .add(endObject());
                 break;
             case WRAPPER_PROPERTY:
@@ -1051,12 +1299,18 @@ public abstract class SimpleJsonGenerator extends SimpleGenerator {
 
     @Override
     public void writeEpilogue() {
-        for (final AdapterInfo adapter : instanceless) {
+        for (final Map.Entry<AdapterInfo, Set<TypeElement>> entry : instanceless.entrySet()) {
+            final AdapterInfo adapter = entry.getKey();
             final ClassName type = ClassName.bestGuess(adapter.className);
+            final TypeSpec.Builder holder = TypeSpec.classBuilder(ClassName.bestGuess(adapter.className + "Holder"));
+            // holder is stale when any of its users changes
+            for (final TypeElement user : entry.getValue()) {
+                holder.addOriginatingElement(user);
+            }
             try {
                 JavaFile.builder(
                         type.packageName(),
-                        TypeSpec.classBuilder(ClassName.bestGuess(adapter.className + "Holder"))
+                        holder
                                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                                 .addField(FieldSpec.builder(type, "INSTANCE", Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
                                         .initializer("new $T();", type)
@@ -1073,6 +1327,177 @@ public abstract class SimpleJsonGenerator extends SimpleGenerator {
                 messager.printMessage(Diagnostic.Kind.ERROR, "Cannot finish writing " + type + ": " + e.getMessage());
             }
         }
+        if (registryName != null && !registered.isEmpty()) {
+            try {
+                writeRegistry();
+            } catch (IOException e) {
+                e.printStackTrace();
+                messager.printMessage(Diagnostic.Kind.ERROR, "Cannot write adapter registry: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Writes {@link AdapterRegistry} of all non-generic adapters and its
+     * {@code META-INF/services} entry. Lookup is {@code switch} by class name,
+     * so adapters are not loaded until requested.
+     */
+    private void writeRegistry() throws IOException {
+        final ClassName name = registryName.isEmpty() ? defaultRegistryName() : ClassName.bestGuess(registryName);
+        final TypeSpec.Builder registry = TypeSpec.classBuilder(name)
+                .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                .addSuperinterface(AdapterRegistry.class);
+        final CodeBlock.Builder parsers = CodeBlock.builder().beginControlFlow("switch (type.getName())");
+        final CodeBlock.Builder serializers = CodeBlock.builder().beginControlFlow("switch (type.getName())");
+        for (final Map.Entry<TypeElement, GeneratedResultInfo> e : registered.entrySet()) {
+            final TypeElement type = e.getKey();
+            final GeneratedResultInfo info = e.getValue();
+            registry.addOriginatingElement(type);
+            final String binaryName = elemUtils.getBinaryName(type).toString();
+            final TypeName target = TypeName.get(typeUtils.erasure(type.asType()));
+            // same name may come from another class loader
+            if (info.canParse) {
+                parsers.addStatement("case $S: return type == $T.class ? $L : null", binaryName, target, instanceOf(info.adapter));
+            }
+            if (info.canSerialize) {
+                serializers.addStatement("case $S: return type == $T.class ? $L : null", binaryName, target, instanceOf(info.adapter));
+            }
+        }
+        parsers.addStatement("default: return null").endControlFlow();
+        serializers.addStatement("default: return null").endControlFlow();
+        final ParameterizedTypeName anyClass = ParameterizedTypeName.get(ClassName.get(Class.class), WildcardTypeName.subtypeOf(Object.class));
+        final ParameterizedTypeName anyParser = ParameterizedTypeName.get(parserClass, WildcardTypeName.subtypeOf(Object.class), WildcardTypeName.subtypeOf(Object.class));
+        final ParameterizedTypeName anySerializer = ParameterizedTypeName.get(serializerClass, WildcardTypeName.subtypeOf(Object.class), WildcardTypeName.subtypeOf(Object.class));
+        registry.addMethod(MethodSpec.methodBuilder("inputType")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(anyClass)
+                        .addStatement("return $T.class", TypeName.get(typeUtils.erasure(getInputTypeName())))
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("outputType")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(anyClass)
+                        .addStatement("return $T.class", TypeName.get(typeUtils.erasure(getOutputTypeName())))
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("parser")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(anyClass, "type", Modifier.FINAL)
+                        .returns(anyParser)
+                        .addCode(parsers.build())
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("serializer")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(anyClass, "type", Modifier.FINAL)
+                        .returns(anySerializer)
+                        .addCode(serializers.build())
+                        .build());
+        JavaFile.builder(name.packageName(), registry.build()).build().writeTo(filer);
+        final FileObject services = filer.createResource(
+                StandardLocation.CLASS_OUTPUT,
+                "",
+                "META-INF/services/" + AdapterRegistry.class.getName(),
+                registered.keySet().toArray(new Element[0]));
+        try (Writer w = services.openWriter()) {
+            w.write(name.reflectionName());
+            w.write('\n');
+        }
+    }
+
+    /**
+     * Registries of different modules may share package, and then one class would
+     * shadow another on classpath while both service entries name it. So name is
+     * unique per set of registered types: hash of their names is appended.
+     *
+     * @return {@code MapperRegistry_<hash>} in common package of registered types
+     */
+    private ClassName defaultRegistryName() {
+        String common = null;
+        for (final TypeElement type : registered.keySet()) {
+            final String pkg = packageOf(type);
+            if (common == null) {
+                common = pkg;
+            } else {
+                while (!common.isEmpty() && !(pkg.equals(common) || pkg.startsWith(common + '.'))) {
+                    final int dot = common.lastIndexOf('.');
+                    common = dot == -1 ? "" : common.substring(0, dot);
+                }
+            }
+        }
+        // classes in default package cannot be used from others
+        if (common == null || common.isEmpty()) common = packageOf(registered.keySet().iterator().next());
+        final List<String> names = new ArrayList<>(registered.size());
+        for (final TypeElement type : registered.keySet()) {
+            names.add(elemUtils.getBinaryName(type).toString());
+        }
+        Collections.sort(names);
+        // FNV-1a, stable between compilations unlike identity hashes
+        long hash = 0xcbf29ce484222325L;
+        for (final String n : names) {
+            for (int i = 0; i < n.length(); ++i) {
+                hash = (hash ^ n.charAt(i)) * 0x100000001b3L;
+            }
+            hash = (hash ^ ';') * 0x100000001b3L;
+        }
+        return ClassName.get(common, "MapperRegistry_" + Long.toHexString(hash));
+    }
+
+    /**
+     * Wraps body of public {@code toObject} / {@code write} into
+     * measurement if {@link #metrics} are enabled.
+     *
+     * @param body   body of method
+     * @param target type which is parsed / serialized
+     * @param parse  {@code true} for {@code toObject}
+     * @return instrumented or the same body
+     */
+    @NotNull
+    private CodeBlock measured(@NotNull CodeBlock body, @NotNull TypeName target, boolean parse) {
+        if (!metrics) return body;
+        final CodeBlock position = parse ? inputPosition() : outputPosition();
+        final TypeName raw = target instanceof ParameterizedTypeName ? ((ParameterizedTypeName) target).rawType : target;
+        final CodeBlock.Builder res = CodeBlock.builder()
+                .addStatement("final long metricsStart = $T.start()", metricsClass);
+        if (position != null) {
+            // position may be expensive, so it is taken only when measuring
+            res.addStatement("final long metricsFrom = metricsStart == 0 ? 0 : $L", position);
+        }
+        return res.beginControlFlow("try")
+                .add(body)
+                .nextControlFlow("finally")
+                .beginControlFlow("if (metricsStart != 0)")
+                .addStatement("$T.$L($T.class, metricsStart, $L)",
+                        metricsClass, parse ? "parsed" : "serialized", raw,
+                        position == null ? CodeBlock.of("-1") : CodeBlock.of("$L - metricsFrom", position))
+                .endControlFlow()
+                .endControlFlow()
+                .build();
+    }
+
+    /**
+     * Java expression of type {@code long}: count of bytes consumed from
+     * {@code in} so far. Used by metrics (see {@link #metrics}) for sizes of
+     * parsed objects.
+     *
+     * @return expression or {@code null} if input cannot tell its position
+     */
+    @Nullable
+    protected CodeBlock inputPosition() {
+        return null;
+    }
+
+    /**
+     * Java expression of type {@code long}: count of bytes written
+     * to {@code destination} so far. Used by metrics (see {@link #metrics})
+     * for sizes of serialized objects.
+     *
+     * @return expression or {@code null} if output cannot tell its position
+     */
+    @Nullable
+    protected CodeBlock outputPosition() {
+        return null;
     }
 
     /**
@@ -1099,6 +1524,45 @@ public abstract class SimpleJsonGenerator extends SimpleGenerator {
     @NotNull
     protected abstract CodeBlock nextName();
 
+    /**
+     * Same as {@link #nextName()}, but also gets all names which
+     * generated parser is able to handle at this point, so backend
+     * can precompute something for matching them.
+     * Default implementation ignores {@code expected}.
+     *
+     * @param expected known names, in declaration order
+     * @return code which puts next name into {@code name}
+     */
+    @NotNull
+    protected CodeBlock nextName(@NotNull Collection<@NotNull String> expected) {
+        return nextName();
+    }
+
+    /**
+     * If {@code true} then generated parsers predict next property
+     * in declaration order, check prediction with {@link #nameIs(String)}
+     * and fall back to {@code switch} on misprediction.
+     *
+     * @return {@code true} if backend can cheaply check predicted name
+     */
+    protected boolean canPredictNames() {
+        return false;
+    }
+
+    /**
+     * Java expression which is {@code true} if {@code name} (see {@link #nextName()})
+     * is cheaply known to be equal to {@code expected}, e.g. by identity of
+     * interned strings. False negatives are allowed, but false positives
+     * are not. Used only if {@link #canPredictNames()}.
+     *
+     * @param expected expression of type {@code String} with predicted name
+     * @return predicate
+     */
+    @NotNull
+    protected CodeBlock nameIs(@NotNull String expected) {
+        return CodeBlock.of("$L.equals(name)", expected);
+    }
+
     /**
      * Will be placed at start of parsing method
      *
@@ -1109,6 +1573,35 @@ public abstract class SimpleJsonGenerator extends SimpleGenerator {
         return CodeBlock.of("");
     }
 
+    /**
+     * Checks that {@code adapter} can parse into existing object, i.e.
+     * it has {@code toObject} method with additional last parameter
+     * of parsed type which is reused if not {@code null}, like
+     * <pre>
+     * &lt;T&gt; ArrayList&lt;T&gt; toObject(Input in, Parser&lt;T, Input&gt; itemParser, ArrayList&lt;T&gt; reuse)
+     * </pre>
+     * Such adapters are used by generated {@code toObject(Input, T reuse)}.
+     *
+     * @param adapter adapter for property
+     * @return {@code true} if adapter can reuse objects
+     */
+    protected boolean canParseInto(@NotNull AdapterInfo adapter) {
+        return false;
+    }
+
+    /**
+     * Skips value of property which name is already read by
+     * {@link #nextName()}, so parser will be in the same state
+     * as after reading that value. Used by projections
+     * (see {@link com.gitlab.faerytea.mapper.annotations.Projection Projection}).
+     *
+     * @return code which skips value or {@code null} if skipping is not supported
+     */
+    @Nullable
+    protected CodeBlock skipValue() {
+        return null;
+    }
+
     /**
      * Will be placed at end of parsing method.
      * After evaluating returned code parser must
@@ -1168,6 +1661,38 @@ public abstract class SimpleJsonGenerator extends SimpleGenerator {
      */
     protected abstract CodeBlock writeDelimiter();
 
+    /**
+     * Declares {@code private static final} constant in adapter which is
+     * being generated right now, e.g. for precomputing something once
+     * per class instead of once per call. Same name hint with same type
+     * and initializer results in the same constant.
+     *
+     * @param type        type of constant
+     * @param nameHint    desired name, will be made a valid unique identifier
+     * @param initializer value of constant
+     * @return actual name of constant
+     */
+    @NotNull
+    protected String constant(@NotNull TypeName type, @NotNull String nameHint, @NotNull CodeBlock initializer) {
+        final StringBuilder sb = new StringBuilder(nameHint.length() + 1);
+        for (int i = 0; i < nameHint.length(); ++i) {
+            final char c = nameHint.charAt(i);
+            sb.append(Character.isJavaIdentifierPart(c) ? c : '_');
+        }
+        if (sb.length() == 0 || !Character.isJavaIdentifierStart(sb.charAt(0))) sb.insert(0, '_');
+        final String base = sb.toString();
+        String name = base;
+        for (int i = 1; constants.containsKey(name); ++i) {
+            final FieldSpec existing = constants.get(name);
+            if (existing.type.equals(type) && existing.initializer.equals(initializer)) return name;
+            name = base + '_' + i;
+        }
+        constants.put(name, FieldSpec.builder(type, name, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer(initializer)
+                .build());
+        return name;
+    }
+
     private String instanceOf(@NotNull AdapterInfo adapter) {
         return adapter.instance == null
                 ? adapter.className + "Holder.INSTANCE"
@@ -1256,24 +1781,21 @@ public abstract class SimpleJsonGenerator extends SimpleGenerator {
                 final List<String> fieldNames = gti.nestedGeneric.stream().map((GenericTypeInfo gti1) -> buildApplication(gti1, isParser)).collect(Collectors.toList());
                 final AdapterInfo adapter = isParser ? gti.mapper.parser : gti.mapper.serializer;
                 if (adapter == null) throw new WrappedException(new GeneratingException("isParser = " + isParser + ", " + gti.mapper));
+                final AdapterInfo oppositeA = !isParser ? gti.mapper.parser : gti.mapper.serializer;
+                final boolean separate = !adapter.equals(oppositeA);
                 final String gName = adapter.className.replace('.', '_') + "__" + String.join("_", fieldNames) + "__";
                 name = genericAdapterFields.stream().filter(spec -> spec.name.equals(gName)).map(s -> s.name).findFirst().orElseGet(() -> {
-                    final FieldSpec fieldSpec = FieldSpec.builder(applicationFieldType(gti, collapsed), gName, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
-                            .initializer("$L.apply(" + String.join(", ", fieldNames) + ")", instanceOf(adapter))
-                            .build();
+                    final FieldSpec fieldSpec = applicationField(gti, separate ? (isParser ? PARSER : SERIALIZER) : collapsed, gName, adapter, fieldNames, separate);
                     genericAdapterFields.add(fieldSpec);
                     return fieldSpec.name;
                 });
-                final AdapterInfo oppositeA = !isParser ? gti.mapper.parser : gti.mapper.serializer;
-                if (adapter.equals(oppositeA)) {
+                if (!separate) {
                     opposite = name;
                 } else if (oppositeA != null && collapsed == MAPPER) {
                     final List<String> oppositeFieldNames = gti.nestedGeneric.stream().map((GenericTypeInfo gti1) -> buildApplication(gti1, !isParser)).collect(Collectors.toList());
                     final String oppositeName = oppositeA.className.replace('.', '_') + "__" + String.join("_", oppositeFieldNames) + "__";
                     opposite = genericAdapterFields.stream().filter(spec -> spec.name.equals(oppositeName)).map(s -> s.name).findFirst().orElseGet(() -> {
-                        final FieldSpec fieldSpec = FieldSpec.builder(applicationFieldType(gti, collapsed), oppositeName, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
-                                .initializer("$L.apply(" + String.join(", ", oppositeFieldNames) + ")", instanceOf(oppositeA))
-                                .build();
+                        final FieldSpec fieldSpec = applicationField(gti, isParser ? SERIALIZER : PARSER, oppositeName, oppositeA, oppositeFieldNames, true);
                         genericAdapterFields.add(fieldSpec);
                         return fieldSpec.name;
                     });
@@ -1301,14 +1823,16 @@ public abstract class SimpleJsonGenerator extends SimpleGenerator {
                     break;
                 case MAPPER:
                     tp = ParameterizedTypeName.get(ClassName.get(ConvertWrapper.AsMapper.class), converterTarget, intermediateTp, inputClassName, outputClassName);
-                    init = CodeBlock.of("new $T($L, $L, $L);", tp, name, opposite, converter);
+                    init = isParser
+                            ? CodeBlock.of("new $T($L, $L, $L);", tp, name, opposite, converter)
+                            : CodeBlock.of("new $T($L, $L, $L);", tp, opposite, name, converter);
                     if (name.equals(opposite)) {
                         combinedName = name;
                     } else {
                         if (isParser) {
-                            combinedName = name + "_$_" + opposite;
+                            combinedName = name + "_and_" + opposite;
                         } else {
-                            combinedName = opposite + "_$_" + name;
+                            combinedName = opposite + "_and_" + name;
                         }
                     }
                     break;
@@ -1324,6 +1848,31 @@ public abstract class SimpleJsonGenerator extends SimpleGenerator {
         return name;
     }
 
+    /**
+     * Field with {@code adapter.apply(fieldNames...)}. Separate parsers and serializers
+     * serve several collection types, e.g. {@code apply} of serializer of {@code Collection}
+     * returns {@code Serializer<Collection<T>, ...>} for {@code ArrayList<T>},
+     * so their result is assigned through raw type.
+     *
+     * @param separate whether adapter is not a mapper for both directions
+     */
+    @NotNull
+    private FieldSpec applicationField(@NotNull GenericTypeInfo gti,
+                                       @NotNull SpecifiedMapper.AdapterType adapterType,
+                                       @NotNull String name,
+                                       @NotNull AdapterInfo adapter,
+                                       @NotNull List<@NotNull String> fieldNames,
+                                       boolean separate) throws WrappedException {
+        // names are arguments, not part of format: they are not escaped
+        final CodeBlock arguments = fieldNames.stream().map(n -> CodeBlock.of("$N", n)).collect(CodeBlock.joining(", "));
+        final CodeBlock initializer = !separate
+                ? CodeBlock.of("$L.apply($L)", instanceOf(adapter), arguments)
+                : CodeBlock.of("($T) $L.apply($L)", adapterType == PARSER ? parserClass : serializerClass, instanceOf(adapter), arguments);
+        return FieldSpec.builder(applicationFieldType(gti, adapterType), name, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer(initializer)
+                .build();
+    }
+
     @NotNull
     private TypeName applicationFieldType(@NotNull GenericTypeInfo gti, @NotNull SpecifiedMapper.AdapterType adapterType) throws WrappedException {
         return parameterized(ClassName.get(gti.mapper.type), adapterType);
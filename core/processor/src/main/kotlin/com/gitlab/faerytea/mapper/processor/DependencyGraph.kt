@@ -0,0 +1,133 @@
+/*
+ * Copyright © 2020 Valery Maevsky
+ * mailto:faerytea@gmail.com
+ *
+ * This file is part of Mapper Processor.
+ *
+ * Mapper Processor s free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * Mapper Processor s distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Mapper Processor  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.gitlab.faerytea.mapper.processor
+
+import com.gitlab.faerytea.mapper.annotations.MappableViaSubclasses
+import javax.lang.model.element.ExecutableElement
+import javax.lang.model.element.TypeElement
+import javax.lang.model.element.VariableElement
+import javax.lang.model.type.ArrayType
+import javax.lang.model.type.DeclaredType
+import javax.lang.model.type.TypeMirror
+import javax.lang.model.type.WildcardType
+import javax.lang.model.util.ElementFilter
+
+/**
+ * Strongly connected components of directed graph (Tarjan's algorithm).
+ * Components are returned in reverse topological order: every component
+ * goes after all components reachable from it.
+ *
+ * @param nodes all nodes of graph
+ * @param edges successors of node, nodes absent in [nodes] are visited too
+ */
+internal fun <T> stronglyConnected(nodes: Iterable<T>, edges: (T) -> Iterable<T>): List<List<T>> {
+    val index = HashMap<T, Int>()
+    val low = HashMap<T, Int>()
+    val onStack = HashSet<T>()
+    val stack = ArrayList<T>()
+    // explicit call stack, recursion depth would be length of longest path
+    val calls = ArrayList<Pair<T, Iterator<T>>>()
+    val res = ArrayList<List<T>>()
+    fun enter(v: T) {
+        val i = index.size
+        index[v] = i
+        low[v] = i
+        stack.add(v)
+        onStack.add(v)
+        calls.add(v to edges(v).iterator())
+    }
+    for (root in nodes) {
+        if (root in index) continue
+        enter(root)
+        while (calls.isNotEmpty()) {
+            val (v, successors) = calls.last()
+            if (successors.hasNext()) {
+                val w = successors.next()
+                if (w !in index) {
+                    enter(w)
+                } else if (w in onStack) {
+                    low[v] = minOf(low.getValue(v), index.getValue(w))
+                }
+            } else {
+                calls.removeAt(calls.lastIndex)
+                if (calls.isNotEmpty()) {
+                    val parent = calls.last().first
+                    low[parent] = minOf(low.getValue(parent), low.getValue(v))
+                }
+                if (low[v] == index[v]) {
+                    val component = ArrayList<T>()
+                    do {
+                        val w = stack.removeAt(stack.lastIndex)
+                        onStack.remove(w)
+                        component.add(w)
+                    } while (w != v)
+                    res.add(component)
+                }
+            }
+        }
+    }
+    return res
+}
+
+/**
+ * Orders mappables so that classes go after mappables which they refer to,
+ * hence most of them find adapters for their properties on first attempt.
+ * References are estimated by types of all members and by subclasses of
+ * [MappableViaSubclasses]; members of one strongly connected component
+ * keep their original order.
+ */
+internal fun Processor.generationOrder(mappables: Set<TypeElement>): List<TypeElement> {
+    val dependencies = HashMap<TypeElement, MutableSet<TypeElement>>()
+    fun MutableSet<TypeElement>.walk(tp: TypeMirror) {
+        when (tp) {
+            is DeclaredType -> {
+                val e = tp.asElement()
+                if (e is TypeElement && e in mappables) add(e)
+                tp.typeArguments.forEach { walk(it) }
+            }
+            is ArrayType -> walk(tp.componentType)
+            is WildcardType -> {
+                tp.extendsBound?.let { walk(it) }
+                tp.superBound?.let { walk(it) }
+            }
+        }
+    }
+    for (c in mappables) {
+        val deps = dependencies.getOrPut(c) { LinkedHashSet() }
+        for (member in elements.getAllMembers(c) + ElementFilter.constructorsIn(c.enclosedElements)) {
+            when (member) {
+                is VariableElement -> deps.walk(member.asType())
+                is ExecutableElement -> {
+                    deps.walk(member.returnType)
+                    member.parameters.forEach { deps.walk(it.asType()) }
+                }
+            }
+        }
+        for (supertype in types.directSupertypes(c.asType())) {
+            val parent = (supertype as? DeclaredType)?.asElement() as? TypeElement ?: continue
+            if (parent in mappables && parent.getAnnotation(MappableViaSubclasses::class.java) != null) {
+                dependencies.getOrPut(parent) { LinkedHashSet() }.add(c)
+            }
+        }
+    }
+    val position = mappables.withIndex().associate { (i, c) -> c to i }
+    return stronglyConnected(mappables) { dependencies[it].orEmpty() }
+            .flatMap { component -> component.sortedBy { position[it] } }
+}
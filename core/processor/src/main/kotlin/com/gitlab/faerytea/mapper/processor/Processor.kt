@@ -23,6 +23,7 @@ import com.gitlab.faerytea.mapper.adapters.*
 import com.gitlab.faerytea.mapper.annotations.*
 import com.gitlab.faerytea.mapper.gen.*
 import java.io.PrintStream
+import java.util.ArrayDeque
 import java.util.function.BiFunction
 import javax.annotation.processing.*
 import javax.lang.model.SourceVersion
@@ -41,6 +42,8 @@ import javax.tools.Diagnostic.Kind as L
         "mapperDisable",
         "mapperExternalMappers",
         "mapperLogging",
+        "mapperMetrics",
+        "mapperRegistry",
         "mapperAdditionalOptions"
 )
 @SupportedSourceVersion(SourceVersion.RELEASE_8)
@@ -89,7 +92,7 @@ class Processor : AbstractProcessor() {
             Log.enabled = true
             when (val logging = processingEnvironment.options["mapperLogging"]) {
                 null, "", "disable", "false" -> Log.enabled = false
-                "stdout" -> Log.destination = System.out
+                "stdout", "true", "enable" -> Log.destination = System.out
                 "stderr" -> Log.destination = System.err
                 else -> Log.destination = PrintStream(logging)
             }
@@ -301,13 +304,16 @@ class Processor : AbstractProcessor() {
 
     private fun generate(mappables: Set<TypeElement>, roundEnv: RoundEnvironment): Boolean {
         val generated = HashSet<String>()
+        // class -> type which it misses, by qualified names
         val missed = HashMap<String, String>()
-        var changed: Boolean
-        do {
-            changed = false
-            for (c in mappables) {
+        // missing type -> classes which wait for it
+        val waiting = HashMap<String, MutableList<TypeElement>>()
+        val queue = ArrayDeque(generationOrder(mappables))
+        while (true) {
+            while (queue.isNotEmpty()) {
+                val c = queue.removeFirst()
                 val cAsType = c.asType()
-                val className = cAsType.toString()
+                val className = c.qualifiedName.toString()
                 if (className in generated) continue
                 m.printMessage(L.OTHER, "got ${c.simpleName}")
                 try {
@@ -359,10 +365,16 @@ class Processor : AbstractProcessor() {
                                     }
                             generator.generateFor(c, constants, onUnknownAdapterInfo, stringParser, stringSerializer)
                         } else {
-                            val mappings = c.accept(elementVisitor, HashMap())
+                            val mappings = c.accept(elementVisitor, LinkedHashMap())
                                     .mapValues { (_, v) -> FieldData(v.name, v.tp, v.getters, v.setters, v.required, v.validator) }
                             if (roundEnv.errorRaised()) return false
-                            generator.generateFor(c, mappings, onUnknownAdapterInfo, validator(c, instances))
+                            val explicitOnUnknown = c.annotationMirrors
+                                    .find { it.annotationType.toString() == Mappable::class.java.name }
+                                    ?.elementValues?.keys?.any { it.simpleName.contentEquals("onUnknown") } == true
+                            val handler = if (explicitOnUnknown) onUnknownAdapterInfo
+                                          else generator.defaultUnknownPropertyHandler ?: onUnknownAdapterInfo
+                            val projections = projections(c, mappableAnnotation, mappings.keys) ?: return false
+                            generator.generateFor(c, mappings, handler, validator(c, instances), projections)
                         }
                     } else {
                         assert(mappableSubclassesAnnotation != null)
@@ -378,65 +390,70 @@ class Processor : AbstractProcessor() {
                     if (generateResult.canSerialize)
                         serializers[TypeInfo.from(types.erasure(cAsType))] = generateResult.adapter
                     generated.add(className)
-                    changed = true
+                    missed.remove(className)
+                    waiting.remove(className)?.let { queue.addAll(it) }
                     m.printMessage(L.OTHER, "$generateResult was generated for $className")
                 } catch (e: TypeNotFoundException) {
-                    val tp = e.key
-
-                    missed[className] = tp.toString()
+                    val tp = types.erasure(e.key).toString()
+                    missed[className] = tp
+                    waiting.getOrPut(tp) { ArrayList() }.add(c)
                     m.printMessage(L.OTHER, "$className is missing for $tp")
                 } catch (e: Exception) {
                     m.printMessage(L.ERROR, "Generator $generator failed to generate adapter for ${c.qualifiedName}: ${e.stringTrace()}", c)
                 }
             }
-            missed -= generated
-            // break circulars
-            if (missed.isNotEmpty()) {
-                m.printMessage(L.OTHER, "breaking circulars for $missed")
-                val pool = HashSet<String>(missed.keys)
-                val stack = ArrayList<String>(missed.size - 1)
-                while (pool.isNotEmpty()) {
-                    stack.add(pool.first())
-                    while (stack.isNotEmpty()) {
-                        val key = stack.last()
-                        val value = missed[key]
-                        if (value !in pool) {
-                            pool.removeAll(stack)
-                            stack.clear()
-                        } else {
-                            value!!
-                            val index = stack.indexOf(value)
-                            if (index == -1) {
-                                stack.add(value)
-                            } else {
-                                // found circular
-                                val circle = stack.subList(index, stack.size)
-                                m.printMessage(L.WARNING, "Found circular dependency. Generated classes may be broken. Classes: $circle")
-                                for (name in circle) {
-                                    val typeElement = elements.getTypeElement(name)
-                                    val type = types.erasure(typeElement.asType())
-                                    val generateResult = generator.nameFor(typeElement)
-                                    if (generateResult.canParse)
-                                        parsers[TypeInfo.from(type)] = generateResult.adapter
-                                    if (generateResult.canSerialize)
-                                        serializers[TypeInfo.from(type)] = generateResult.adapter
-                                    m.printMessage(L.OTHER, "fake $generateResult generated for $name")
-                                }
-                                generator.notifyCircularDependency(circle.map { elements.getTypeElement(it) })
-                                pool.removeAll(circle)
-                                circle.clear()
-                            }
-                        }
-                    }
+            // every waiting class misses exactly one type, so cycles of
+            // that graph are classes which can be generated only together
+            val circles = stronglyConnected(missed.keys) { listOfNotNull(missed[it]?.takeIf { tp -> tp in missed }) }
+                    .filter { it.size > 1 || missed[it[0]] == it[0] }
+            if (circles.isEmpty()) break
+            m.printMessage(L.OTHER, "breaking circulars for $missed")
+            for (circle in circles) {
+                m.printMessage(L.WARNING, "Found circular dependency. Generated classes may be broken. Classes: $circle")
+                for (name in circle) {
+                    val typeElement = elements.getTypeElement(name)
+                    val type = types.erasure(typeElement.asType())
+                    val generateResult = generator.nameFor(typeElement)
+                    if (generateResult.canParse)
+                        parsers[TypeInfo.from(type)] = generateResult.adapter
+                    if (generateResult.canSerialize)
+                        serializers[TypeInfo.from(type)] = generateResult.adapter
+                    m.printMessage(L.OTHER, "fake $generateResult generated for $name")
+                }
+                generator.notifyCircularDependency(circle.map { elements.getTypeElement(it) })
+                for (name in circle) {
+                    missed.remove(name)
+                    waiting.remove(name)?.let { queue.addAll(it) }
                 }
             }
-        } while (changed)
+        }
         if (generated.isEmpty() && missed.isNotEmpty())
             m.printMessage(L.ERROR, "Generator $generator failed to generate at least one mapper (mappers for ${missed.keys} aren't generated)")
         return missed.isEmpty()
     }
 
 
+    private fun projections(c: TypeElement, annotation: Mappable, properties: Set<String>): Map<String, List<String>>? {
+        val res = LinkedHashMap<String, List<String>>()
+        var ok = true
+        for (p in annotation.projections) {
+            if (!SourceVersion.isIdentifier(p.name) || SourceVersion.isKeyword(p.name)) {
+                m.printMessage(L.ERROR, "Projection name '${p.name}' is not a valid identifier", c)
+                ok = false
+            }
+            val unknown = p.value.filter { it !in properties }
+            if (unknown.isNotEmpty()) {
+                m.printMessage(L.ERROR, "Projection ${p.name} has unknown properties $unknown", c)
+                ok = false
+            }
+            if (res.put(p.name, p.value.distinct()) != null) {
+                m.printMessage(L.ERROR, "Projection ${p.name} is declared twice", c)
+                ok = false
+            }
+        }
+        return if (ok) res else null
+    }
+
     private fun handleDefaultMappers(annotationName: String, mapper: TypeElement) {
         val isParser = annotationName != DefaultSerializer::class.java.toString()
         val isSerializer = annotationName != DefaultParser::class.java.toString()
@@ -0,0 +1,198 @@
+package bench;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.gitlab.faerytea.mapper.adapters.MappingAdapter;
+import com.gitlab.faerytea.mapper.jackson.collections.ArrayListMapper;
+import com.gitlab.faerytea.mapper.jackson.primitives.StringMapper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+import test.generic.GenericHolder;
+import test.generic.GenericHolderAdapter;
+import test.some.Test2;
+import test.some.Test2Adapter;
+import test.some.Test5;
+import test.some.Test5Adapter;
+import test.some.TestCircle;
+import test.some.TestRectangle;
+import test.some.TestShape;
+import test.some.TestShapeAdapter;
+
+/**
+ * Parsing and serializing of typical shapes: flat object, deep recursion,
+ * generic holder, polymorphic list and nested collections.
+ * Parsers read prepared JSON; serializers write into reused buffer.
+ */
+@State(Scope.Benchmark)
+public class AdapterBenchmark {
+    private static final Test2Adapter FLAT = Test2Adapter.Holder.INSTANCE;
+    private static final Test5Adapter DEEP = Test5Adapter.Holder.INSTANCE;
+    private static final GenericHolderAdapter GENERIC = GenericHolderAdapter.Holder.INSTANCE;
+    private static final MappingAdapter<ArrayList<TestShape>, JsonParser, JsonGenerator> SHAPES =
+            ArrayListMapper.INSTANCE.apply(TestShapeAdapter.Holder.INSTANCE);
+    private static final MappingAdapter<ArrayList<ArrayList<ArrayList<String>>>, JsonParser, JsonGenerator> TRIPLE_LIST =
+            ArrayListMapper.INSTANCE.apply(ArrayListMapper.INSTANCE.apply(ArrayListMapper.INSTANCE.apply(StringMapper.INSTANCE)));
+
+    private final JsonFactory factory = new JsonFactory();
+    private final ByteArrayBuilder out = new ByteArrayBuilder(4096);
+
+    private Test2 flat;
+    private Test5 deep;
+    private GenericHolder<Test2> generic;
+    private ArrayList<TestShape> shapes;
+    private ArrayList<ArrayList<ArrayList<String>>> tripleList;
+
+    private byte[] flatJson;
+    private byte[] deepJson;
+    private byte[] genericJson;
+    private byte[] shapesJson;
+    private byte[] tripleListJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        // answer is 42, so validators stay silent
+        flat = new Test2(7, "flat object with a few properties", 42);
+        deep = null;
+        for (int i = 0; i < 64; ++i) {
+            deep = new Test5(deep, 42);
+        }
+        generic = new GenericHolder<Test2>(new Test2(1, "held", 42));
+        shapes = new ArrayList<TestShape>(16);
+        for (int i = 0; i < 16; ++i) {
+            shapes.add(i % 2 == 0 ? new TestCircle(i) : new TestRectangle(i, i * 0.5));
+        }
+        tripleList = new ArrayList<ArrayList<ArrayList<String>>>(8);
+        for (int i = 0; i < 8; ++i) {
+            final ArrayList<ArrayList<String>> middle = new ArrayList<ArrayList<String>>(8);
+            for (int j = 0; j < 8; ++j) {
+                final ArrayList<String> inner = new ArrayList<String>(4);
+                for (int k = 0; k < 4; ++k) {
+                    inner.add("item-" + i + '-' + j + '-' + k);
+                }
+                middle.add(inner);
+            }
+            tripleList.add(middle);
+        }
+        writeFlat();
+        flatJson = out.toByteArray();
+        writeDeep();
+        deepJson = out.toByteArray();
+        writeGeneric();
+        genericJson = out.toByteArray();
+        writePolymorphic();
+        shapesJson = out.toByteArray();
+        writeCollections();
+        tripleListJson = out.toByteArray();
+    }
+
+    @Benchmark
+    public Test2 parseFlat() throws IOException {
+        final JsonParser in = parser(flatJson);
+        try {
+            return FLAT.toObject(in);
+        } finally {
+            in.close();
+        }
+    }
+
+    @Benchmark
+    public int writeFlat() throws IOException {
+        final JsonGenerator gen = generator();
+        FLAT.write(flat, gen);
+        return finish(gen);
+    }
+
+    @Benchmark
+    public Test5 parseDeep() throws IOException {
+        final JsonParser in = parser(deepJson);
+        try {
+            return DEEP.toObject(in);
+        } finally {
+            in.close();
+        }
+    }
+
+    @Benchmark
+    public int writeDeep() throws IOException {
+        final JsonGenerator gen = generator();
+        DEEP.write(deep, gen);
+        return finish(gen);
+    }
+
+    @Benchmark
+    public GenericHolder<Test2> parseGeneric() throws IOException {
+        final JsonParser in = parser(genericJson);
+        try {
+            return GENERIC.toObject(in, FLAT);
+        } finally {
+            in.close();
+        }
+    }
+
+    @Benchmark
+    public int writeGeneric() throws IOException {
+        final JsonGenerator gen = generator();
+        GENERIC.write(generic, gen, FLAT);
+        return finish(gen);
+    }
+
+    @Benchmark
+    public ArrayList<TestShape> parsePolymorphic() throws IOException {
+        final JsonParser in = parser(shapesJson);
+        try {
+            return SHAPES.toObject(in);
+        } finally {
+            in.close();
+        }
+    }
+
+    @Benchmark
+    public int writePolymorphic() throws IOException {
+        final JsonGenerator gen = generator();
+        SHAPES.write(shapes, gen);
+        return finish(gen);
+    }
+
+    @Benchmark
+    public ArrayList<ArrayList<ArrayList<String>>> parseCollections() throws IOException {
+        final JsonParser in = parser(tripleListJson);
+        try {
+            return TRIPLE_LIST.toObject(in);
+        } finally {
+            in.close();
+        }
+    }
+
+    @Benchmark
+    public int writeCollections() throws IOException {
+        final JsonGenerator gen = generator();
+        TRIPLE_LIST.write(tripleList, gen);
+        return finish(gen);
+    }
+
+    private JsonParser parser(byte[] json) throws IOException {
+        final JsonParser in = factory.createParser(json);
+        in.nextToken();
+        return in;
+    }
+
+    private JsonGenerator generator() throws IOException {
+        out.reset();
+        return factory.createGenerator(out);
+    }
+
+    // size instead of copy of bytes, so only adapter and generator are measured
+    private int finish(JsonGenerator gen) throws IOException {
+        gen.close();
+        return out.size();
+    }
+}
@@ -0,0 +1,225 @@
+package bench;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.gitlab.faerytea.mapper.jackson.primitives.BooleanMapper;
+import com.gitlab.faerytea.mapper.jackson.primitives.DoubleMapper;
+import com.gitlab.faerytea.mapper.jackson.primitives.IntMapper;
+import com.gitlab.faerytea.mapper.jackson.primitives.LongMapper;
+import com.gitlab.faerytea.mapper.jackson.utf8.DoubleParser;
+import com.gitlab.faerytea.mapper.jackson.utf8.DoubleSerializer;
+import com.gitlab.faerytea.mapper.jackson.utf8.IntParser;
+import com.gitlab.faerytea.mapper.jackson.utf8.IntSerializer;
+import com.gitlab.faerytea.mapper.jackson.utf8.Utf8Input;
+import com.gitlab.faerytea.mapper.jackson.utf8.Utf8Output;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import test.some.Test2;
+import test.some.Test2Adapter;
+import test.some.Test5;
+import test.some.Test5Adapter;
+
+/**
+ * Allocation regression check: runs adapters in a warm loop and fails
+ * when allocated bytes per operation exceed budget.
+ * Run with {@code ./gradlew checkAllocations}; exit code is 1 on regression.
+ * <p>
+ * Budgets of primitive paths are zero, except doubles: Jackson formats and
+ * parses them through strings, and the UTF-8 backend parses them without
+ * garbage, but formats only integral values so, others go through
+ * {@link Double#toString(double)}.
+ * Budgets of generated adapters include result objects and may be
+ * raised when model changes, but not because generator got worse.
+ */
+public final class AllocationCheck {
+    private static final JsonFactory FACTORY = new JsonFactory();
+    private static final OutputStream DISCARD = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+
+    private final List<Case> cases = new ArrayList<Case>();
+
+    public static void main(String[] args) throws Exception {
+        final AllocationCheck check = new AllocationCheck();
+        check.jacksonPrimitives();
+        check.utf8Primitives();
+        check.generated();
+        final boolean ok = check.run(new AllocationMeter(50, 10, 10_000));
+        if (!ok) System.exit(1);
+    }
+
+    private void jacksonPrimitives() {
+        parse("IntMapper.toObject", 0, "123456", in -> IntMapper.INSTANCE.toObject(in));
+        write("IntMapper.write", 0, out -> IntMapper.INSTANCE.write(123456, out));
+        parse("LongMapper.toObject", 0, "1234567890123", in -> LongMapper.INSTANCE.toObject(in));
+        write("LongMapper.write", 0, out -> LongMapper.INSTANCE.write(1234567890123L, out));
+        parse("BooleanMapper.toObject", 0, "true", in -> BooleanMapper.INSTANCE.toObject(in));
+        write("BooleanMapper.write", 0, out -> BooleanMapper.INSTANCE.write(true, out));
+        // text of number is materialized as String by Jackson
+        parse("DoubleMapper.toObject", 128, "12.5", in -> DoubleMapper.INSTANCE.toObject(in));
+        write("DoubleMapper.write", 64, out -> DoubleMapper.INSTANCE.write(12.5, out));
+    }
+
+    private void utf8Primitives() {
+        parseUtf8("utf8.IntParser", 0, "123456", in -> IntParser.INSTANCE.toObject(in));
+        writeUtf8("utf8.IntSerializer", 0, out -> IntSerializer.INSTANCE.write(123456, out));
+        parseUtf8("utf8.DoubleParser", 0, "12.5", in -> DoubleParser.INSTANCE.toObject(in));
+        writeUtf8("utf8.DoubleSerializer int", 0, out -> DoubleSerializer.INSTANCE.write(42.0, out));
+        // the common case: string from Double.toString
+        writeUtf8("utf8.DoubleSerializer", 48, out -> DoubleSerializer.INSTANCE.write(12.5, out));
+    }
+
+    private void generated() throws IOException {
+        final Test2 flat = new Test2(7, "flat", 42);
+        final Test5 deep = new Test5(new Test5(null, 42), 42);
+        // result object and its name
+        parse("Test2Adapter.toObject", 96, json(out -> Test2Adapter.Holder.INSTANCE.write(flat, out)),
+                in -> Test2Adapter.Holder.INSTANCE.toObject(in));
+        write("Test2Adapter.write", 0, out -> Test2Adapter.Holder.INSTANCE.write(flat, out));
+        // two result objects
+        parse("Test5Adapter.toObject", 64, json(out -> Test5Adapter.Holder.INSTANCE.write(deep, out)),
+                in -> Test5Adapter.Holder.INSTANCE.toObject(in));
+        write("Test5Adapter.write", 0, out -> Test5Adapter.Holder.INSTANCE.write(deep, out));
+    }
+
+    private boolean run(AllocationMeter meter) throws Exception {
+        boolean ok = true;
+        for (Case c : cases) {
+            final double bytes = meter.bytesPerOperation(c.op);
+            final boolean passed = bytes <= c.budget;
+            ok &= passed;
+            System.out.println(String.format(Locale.ROOT, "%-26s %10.2f B/op  budget %4d  %s",
+                    c.name, bytes, c.budget, passed ? "ok" : "FAILED"));
+        }
+        return ok;
+    }
+
+    // input is json repeated as root-level values
+    private void parse(String name, long budget, String json, ParseAction action) {
+        cases.add(new Case(name, budget, new AllocationMeter.Operation() {
+            private JsonParser in;
+
+            @Override
+            public void prepare(int operations) throws IOException {
+                if (in != null) in.close();
+                in = FACTORY.createParser(repeat(json, operations));
+                in.nextToken();
+            }
+
+            @Override
+            public void run() throws IOException {
+                action.parse(in);
+            }
+        }));
+    }
+
+    private void write(String name, long budget, WriteAction action) {
+        cases.add(new Case(name, budget, new AllocationMeter.Operation() {
+            private JsonGenerator out;
+
+            @Override
+            public void prepare(int operations) throws IOException {
+                // generator is reused, so its contexts are allocated once
+                if (out == null) out = FACTORY.createGenerator(DISCARD);
+            }
+
+            @Override
+            public void run() throws IOException {
+                action.write(out);
+            }
+        }));
+    }
+
+    private void parseUtf8(String name, long budget, String json, Utf8ParseAction action) {
+        cases.add(new Case(name, budget, new AllocationMeter.Operation() {
+            private Utf8Input in;
+
+            @Override
+            public void prepare(int operations) throws IOException {
+                in = new Utf8Input(repeat(json, operations));
+                in.nextToken();
+            }
+
+            @Override
+            public void run() throws IOException {
+                action.parse(in);
+            }
+        }));
+    }
+
+    private void writeUtf8(String name, long budget, Utf8WriteAction action) {
+        cases.add(new Case(name, budget, new AllocationMeter.Operation() {
+            private final Utf8Output out = new Utf8Output(1 << 16);
+
+            @Override
+            public void prepare(int operations) {
+            }
+
+            @Override
+            public void run() {
+                // output is not interesting, buffer must not grow
+                if (out.size() > 1 << 15) out.reset();
+                action.write(out);
+                out.writeByte(' ');
+            }
+        }));
+    }
+
+    private static byte[] repeat(String json, int times) throws IOException {
+        final ByteArrayOutputStream res = new ByteArrayOutputStream((json.length() + 1) * times);
+        final byte[] value = (json + ' ').getBytes("UTF-8");
+        for (int i = 0; i < times; ++i) {
+            res.write(value);
+        }
+        return res.toByteArray();
+    }
+
+    private static String json(WriteAction action) throws IOException {
+        final ByteArrayOutputStream res = new ByteArrayOutputStream();
+        final JsonGenerator out = FACTORY.createGenerator(res);
+        action.write(out);
+        out.close();
+        return res.toString("UTF-8");
+    }
+
+    private static final class Case {
+        final String name;
+        final long budget;
+        final AllocationMeter.Operation op;
+
+        Case(String name, long budget, AllocationMeter.Operation op) {
+            this.name = name;
+            this.budget = budget;
+            this.op = op;
+        }
+    }
+
+    private interface ParseAction {
+        void parse(JsonParser in) throws IOException;
+    }
+
+    private interface WriteAction {
+        void write(JsonGenerator out) throws IOException;
+    }
+
+    private interface Utf8ParseAction {
+        void parse(Utf8Input in) throws IOException;
+    }
+
+    private interface Utf8WriteAction {
+        void write(Utf8Output out);
+    }
+}
@@ -0,0 +1,81 @@
+package bench;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures heap allocated by current thread per operation.
+ * Operation is warmed up first, then measured in several rounds;
+ * the least allocating round is reported, so one-off allocations
+ * (buffer growth, class loading) do not hide in average of steady state.
+ */
+public final class AllocationMeter {
+    private final com.sun.management.ThreadMXBean threads;
+    private final long thread = Thread.currentThread().getId();
+    private final int warmupRounds;
+    private final int rounds;
+    private final int operations;
+    private final long overhead;
+
+    /**
+     * @param warmupRounds rounds for JIT to compile operation
+     * @param rounds       measured rounds
+     * @param operations   operations per round
+     */
+    public AllocationMeter(int warmupRounds, int rounds, int operations) {
+        this.threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            throw new UnsupportedOperationException("thread allocated memory is not supported by this JVM");
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+        this.warmupRounds = warmupRounds;
+        this.rounds = rounds;
+        this.operations = operations;
+        // allocatedBytes() itself may allocate (e.g. array of ids)
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < 1000; ++i) {
+            final long before = allocatedBytes();
+            min = Math.min(min, allocatedBytes() - before);
+        }
+        this.overhead = min;
+    }
+
+    /**
+     * @return bytes per operation in the least allocating round
+     */
+    public double bytesPerOperation(Operation op) throws Exception {
+        for (int i = 0; i < warmupRounds; ++i) {
+            op.prepare(operations);
+            for (int j = 0; j < operations; ++j) {
+                op.run();
+            }
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < rounds; ++i) {
+            op.prepare(operations);
+            final long before = allocatedBytes();
+            for (int j = 0; j < operations; ++j) {
+                op.run();
+            }
+            best = Math.min(best, allocatedBytes() - before - overhead);
+        }
+        return Math.max(best, 0) / (double) operations;
+    }
+
+    private long allocatedBytes() {
+        return threads.getThreadAllocatedBytes(thread);
+    }
+
+    /**
+     * Measured operation, e.g. single {@code toObject} or {@code write} call.
+     */
+    public interface Operation {
+        /**
+         * Creates input or output for the next round, is not measured.
+         *
+         * @param operations how much times {@link #run()} will be called
+         */
+        void prepare(int operations) throws Exception;
+
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,13 @@
+package inc;
+
+import com.gitlab.faerytea.mapper.annotations.Mappable;
+import com.gitlab.faerytea.mapper.annotations.Property;
+
+// depends on adapter of Owner
+@Mappable
+public class Item {
+    @Property
+    public String title;
+    @Property
+    public Owner owner;
+}
@@ -0,0 +1,18 @@
+package inc;
+
+import com.gitlab.faerytea.mapper.annotations.Mappable;
+import com.gitlab.faerytea.mapper.annotations.Property;
+
+@Mappable
+public class Owner {
+    @Property
+    public final long id;
+    @Property
+    public final String name;
+
+    @Mappable
+    public Owner(long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+}
@@ -0,0 +1,11 @@
+package inc;
+
+import com.gitlab.faerytea.mapper.annotations.Mappable;
+import com.gitlab.faerytea.mapper.annotations.Property;
+
+// independent of others
+@Mappable
+public class Tag {
+    @Property
+    public String value;
+}
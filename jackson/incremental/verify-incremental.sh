@@ -0,0 +1,50 @@
+#!/usr/bin/env sh
+# Checks incremental annotation processing: after each edit of the model
+# compileJava must not fall back to full recompilation, and generated
+# adapters must match edited sources.
+set -e
+cd "$(dirname "$0")"
+
+SRC=src/main/java/inc
+GEN=build/generated/sources/annotationProcessor/java/main/inc
+BACKUP=$(mktemp -d)
+LOG="$BACKUP/build.log"
+cp "$SRC"/*.java "$BACKUP"
+trap 'cp "$BACKUP"/*.java "$SRC"; rm -rf "$BACKUP"' EXIT
+
+fail() {
+    echo "FAILED: $1" >&2
+    exit 1
+}
+
+compile() {
+    ./gradlew compileJava --info > "$LOG" 2>&1 || { cat "$LOG"; fail "compilation failed"; }
+    if grep -q 'Full recompilation is required' "$LOG"; then
+        grep 'Full recompilation is required' "$LOG" >&2
+        fail "$1: not incremental"
+    fi
+}
+
+./gradlew clean compileJava -q
+[ -f "$GEN/ItemAdapter.java" ] || fail "ItemAdapter is not generated"
+[ -f "$GEN/TagAdapter.java" ] || fail "TagAdapter is not generated"
+
+# body change, no adapter changes
+sed -i.orig 's|// independent of others|// independent of others, edited|' "$SRC/Tag.java"
+compile "edit of comment"
+
+# new property of dependency
+sed -i.orig 's|    public final String name;|    public final String name;\
+    @Property\
+    public String email;|' "$SRC/Owner.java"
+compile "new property"
+grep -q '"email"' "$GEN/OwnerAdapter.java" || fail "OwnerAdapter does not know new property"
+grep -q 'OwnerAdapter' "$GEN/ItemAdapter.java" || fail "ItemAdapter lost OwnerAdapter"
+
+# mappable is not mappable anymore
+sed -i.orig 's|^@Mappable$||' "$SRC/Tag.java"
+compile "removed mappable"
+[ ! -f "$GEN/TagAdapter.java" ] || fail "stale TagAdapter is not removed"
+
+rm -f "$SRC"/*.orig
+echo "incremental rebuilds are fine"
@@ -24,9 +24,11 @@ import com.gitlab.faerytea.mapper.gen.GeneratingException;
 import com.gitlab.faerytea.mapper.gen.InstanceData;
 import com.gitlab.faerytea.mapper.gen.SimpleJsonGenerator;
 import com.gitlab.faerytea.mapper.gen.TypeInfo;
+import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.CodeBlock;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -39,6 +41,7 @@ import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 
 public class JacksonProcessor extends SimpleJsonGenerator {
+    private static final CodeBlock INPUT_POSITION = CodeBlock.of("in.getCurrentLocation().getByteOffset()");
     private static final CodeBlock INITIAL_ADVANCE = CodeBlock.builder()
             .beginControlFlow("if (in.currentToken() == com.fasterxml.jackson.core.JsonToken.VALUE_NULL)")
             .addStatement("in.nextToken()")
@@ -55,7 +58,16 @@ public class JacksonProcessor extends SimpleJsonGenerator {
             .endControlFlow()
             .build();
     private static final CodeBlock FINAL_MOVE = CodeBlock.builder()
-            .addStatement("if (in.currentToken() != com.fasterxml.jackson.core.JsonToken.END_OBJECT) in.nextToken()")
+            // all known properties are read, skip trailing ones
+            .beginControlFlow("while (in.currentToken() == com.fasterxml.jackson.core.JsonToken.FIELD_NAME)")
+            .addStatement("in.nextToken()")
+            .addStatement("in.skipChildren()")
+            .addStatement("in.nextToken()")
+            .endControlFlow()
+            .addStatement("in.nextToken()")
+            .build();
+    private static final CodeBlock SKIP_VALUE = CodeBlock.builder()
+            .addStatement("in.skipChildren()")
             .addStatement("in.nextToken()")
             .build();
     private static final CodeBlock START_OBJECT = CodeBlock.builder()
@@ -69,19 +81,36 @@ public class JacksonProcessor extends SimpleJsonGenerator {
             .addStatement("destination.writeEndObject()")
             .build();
     private static final CodeBlock EMPTY = CodeBlock.of("");
+    private static final ClassName SERIALIZED_STRING = ClassName.get("com.fasterxml.jackson.core.io", "SerializedString");
+    private static final AdapterInfo SKIP_UNKNOWN = new AdapterInfo(
+            "com.gitlab.faerytea.mapper.jackson.unknown.SkipUnknown",
+            new InstanceData("com.gitlab.faerytea.mapper.jackson.unknown.SkipUnknown", "INSTANCE", false));
     private final Map<TypeInfo, AdapterInfo> defaultMappers = new HashMap<>();
+    private final boolean orderedProperties;
 
     public JacksonProcessor(@NotNull ProcessingEnvironment env) throws GeneratingException {
-        super(env, "com.fasterxml.jackson.core.JsonParser", "com.fasterxml.jackson.core.JsonGenerator");
+        this(env, "com.fasterxml.jackson.core.JsonParser", "com.fasterxml.jackson.core.JsonGenerator");
+    }
+
+    protected JacksonProcessor(@NotNull ProcessingEnvironment env,
+                               @NotNull CharSequence inputTypeName,
+                               @NotNull CharSequence outputTypeName) throws GeneratingException {
+        super(env, inputTypeName, outputTypeName);
         putTp("com.gitlab.faerytea.mapper.jackson.primitives.StringMapper", typeFrom(String.class));
         putPrim(TypeKind.BOOLEAN);
         putPrim(TypeKind.INT);
         putPrim(TypeKind.LONG);
         putPrim(TypeKind.DOUBLE);
+        putPrimArray(TypeKind.BOOLEAN);
+        putPrimArray(TypeKind.INT);
+        putPrimArray(TypeKind.LONG);
+        putPrimArray(TypeKind.DOUBLE);
         putClass(ArrayList.class);
         putClass(List.class);
         putClass(Set.class);
         putClass(Map.class);
+        putTp("com.gitlab.faerytea.mapper.jackson.lazy.LazyMapper", typeFrom("com.gitlab.faerytea.mapper.jackson.lazy.Lazy"));
+        orderedProperties = isEnabled("orderedProperties");
     }
 
     @Override
@@ -94,6 +123,28 @@ public class JacksonProcessor extends SimpleJsonGenerator {
         return NEXT_NAME;
     }
 
+    @Override
+    protected boolean canPredictNames() {
+        return orderedProperties;
+    }
+
+    @Override
+    protected @NotNull CodeBlock nameIs(@NotNull String expected) {
+        // names are interned by JsonFactory unless INTERN_FIELD_NAMES is disabled,
+        // then prediction always misses and switch is used
+        return CodeBlock.of("name == $L", expected);
+    }
+
+    @Override
+    protected boolean canParseInto(@NotNull AdapterInfo adapter) {
+        return adapter.className.equals("com.gitlab.faerytea.mapper.jackson.collections.ArrayListMapper");
+    }
+
+    @Override
+    protected @NotNull CodeBlock skipValue() {
+        return SKIP_VALUE;
+    }
+
     @Override
     protected @NotNull CodeBlock finalMove() {
         return FINAL_MOVE;
@@ -111,7 +162,8 @@ public class JacksonProcessor extends SimpleJsonGenerator {
 
     @Override
     protected @NotNull CodeBlock writeProperty(String name) {
-        return CodeBlock.of("destination.writeFieldName($S);\n", name);
+        final String encoded = constant(SERIALIZED_STRING, "NAME_" + name, CodeBlock.of("new $T($S)", SERIALIZED_STRING, name));
+        return CodeBlock.of("destination.writeFieldName($L);\n", encoded);
     }
 
     @Override
@@ -119,6 +171,13 @@ public class JacksonProcessor extends SimpleJsonGenerator {
         return EMPTY;
     }
 
+    @Override
+    protected @Nullable CodeBlock inputPosition() {
+        // byte offset is known for byte-based parsers only, others report zero sizes;
+        // JsonGenerator does not count written bytes at all
+        return INPUT_POSITION;
+    }
+
     @Override
     public @NotNull Map<TypeInfo, AdapterInfo> getDefaultParsers() {
         return defaultMappers;
@@ -129,12 +188,23 @@ public class JacksonProcessor extends SimpleJsonGenerator {
         return defaultMappers;
     }
 
+    @Override
+    public @NotNull AdapterInfo getDefaultUnknownPropertyHandler() {
+        return SKIP_UNKNOWN;
+    }
+
     private void putPrim(TypeKind tp) {
         String name = tp.name();
         putTp("com.gitlab.faerytea.mapper.jackson.primitives." + (name.charAt(0) + name.substring(1).toLowerCase()) + "Mapper",
                 typeUtils.getPrimitiveType(tp));
     }
 
+    private void putPrimArray(TypeKind tp) {
+        String name = tp.name();
+        putTp("com.gitlab.faerytea.mapper.jackson.collections." + (name.charAt(0) + name.substring(1).toLowerCase()) + "ArrayMapper",
+                typeUtils.getArrayType(typeUtils.getPrimitiveType(tp)));
+    }
+
     private void putClass(Class<?> cls) {
         String name = cls.getSimpleName();
         putTp("com.gitlab.faerytea.mapper.jackson.collections." + name + "Mapper", typeFrom(cls));
@@ -0,0 +1,135 @@
+/*
+ * Copyright © 2020 Valery Maevsky
+ * mailto:faerytea@gmail.com
+ *
+ * This file is part of Mapper Generators.
+ *
+ * Mapper Generators is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * Mapper Generators is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Mapper Generators.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.gitlab.faerytea.mapper.jackson;
+
+import com.gitlab.faerytea.mapper.gen.AdapterInfo;
+import com.gitlab.faerytea.mapper.gen.GeneratingException;
+import com.gitlab.faerytea.mapper.gen.InstanceData;
+import com.gitlab.faerytea.mapper.gen.TypeInfo;
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.TypeName;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * Parses with Jackson's {@code JsonParser} like {@link JacksonProcessor},
+ * but serializes directly into {@code Utf8Output}: property names
+ * are written as pre-encoded byte arrays and values bypass
+ * {@code JsonGenerator}'s context tracking.
+ */
+public class JacksonUtf8Processor extends JacksonProcessor {
+    static final String UTF8 = "com.gitlab.faerytea.mapper.jackson.utf8";
+    private static final ClassName UTF8_OUTPUT = ClassName.get(UTF8, "Utf8Output");
+    private static final CodeBlock START_OBJECT = CodeBlock.builder()
+            .beginControlFlow("if (object == null)")
+            .addStatement("destination.writeNull()")
+            .addStatement("return")
+            .endControlFlow()
+            .addStatement("destination.writeByte('{')")
+            .build();
+    private static final CodeBlock END_OBJECT = CodeBlock.builder()
+            .addStatement("destination.writeByte('}')")
+            .build();
+    private static final CodeBlock DELIMITER = CodeBlock.of("destination.writeByte(',')");
+    private static final CodeBlock OUTPUT_POSITION = CodeBlock.of("destination.size()");
+    private final Map<TypeInfo, AdapterInfo> defaultSerializers = new HashMap<>();
+
+    public JacksonUtf8Processor(@NotNull ProcessingEnvironment env) throws GeneratingException {
+        this(env, "com.fasterxml.jackson.core.JsonParser");
+    }
+
+    protected JacksonUtf8Processor(@NotNull ProcessingEnvironment env, @NotNull CharSequence inputTypeName) throws GeneratingException {
+        super(env, inputTypeName, UTF8_OUTPUT.toString());
+        put("StringSerializer", typeFrom(String.class));
+        putPrim(TypeKind.BOOLEAN);
+        putPrim(TypeKind.INT);
+        putPrim(TypeKind.LONG);
+        putPrim(TypeKind.DOUBLE);
+        putPrimArray(TypeKind.BOOLEAN);
+        putPrimArray(TypeKind.INT);
+        putPrimArray(TypeKind.LONG);
+        putPrimArray(TypeKind.DOUBLE);
+        put("CollectionSerializer", typeFrom(ArrayList.class));
+        put("CollectionSerializer", typeFrom(List.class));
+        put("CollectionSerializer", typeFrom(Set.class));
+        put("MapSerializer", typeFrom(Map.class));
+    }
+
+    @Override
+    protected @NotNull CodeBlock startObject() {
+        return START_OBJECT;
+    }
+
+    @Override
+    protected @NotNull CodeBlock endObject() {
+        return END_OBJECT;
+    }
+
+    @Override
+    protected @NotNull CodeBlock writeProperty(String name) {
+        final String encoded = constant(ArrayTypeName.of(TypeName.BYTE), "NAME_" + name, CodeBlock.of("$T.fieldName($S)", UTF8_OUTPUT, name));
+        return CodeBlock.of("destination.writeRaw($L);\n", encoded);
+    }
+
+    @Override
+    protected CodeBlock writeDelimiter() {
+        return DELIMITER;
+    }
+
+    @Override
+    protected @Nullable CodeBlock outputPosition() {
+        return OUTPUT_POSITION;
+    }
+
+    @Override
+    public @NotNull Map<TypeInfo, AdapterInfo> getDefaultSerializers() {
+        return defaultSerializers;
+    }
+
+    private void putPrim(TypeKind tp) {
+        String name = tp.name();
+        put(name.charAt(0) + name.substring(1).toLowerCase() + "Serializer", typeUtils.getPrimitiveType(tp));
+    }
+
+    private void putPrimArray(TypeKind tp) {
+        String name = tp.name();
+        put(name.charAt(0) + name.substring(1).toLowerCase() + "ArraySerializer", typeUtils.getArrayType(typeUtils.getPrimitiveType(tp)));
+    }
+
+    private void put(String simpleName, TypeMirror type) {
+        final String className = UTF8 + '.' + simpleName;
+        defaultSerializers.put(
+                TypeInfo.from(type),
+                new AdapterInfo(className, new InstanceData(className, "INSTANCE", false)));
+    }
+}
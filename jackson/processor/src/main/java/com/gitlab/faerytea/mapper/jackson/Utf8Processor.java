@@ -0,0 +1,172 @@
+/*
+ * Copyright © 2020 Valery Maevsky
+ * mailto:faerytea@gmail.com
+ *
+ * This file is part of Mapper Generators.
+ *
+ * Mapper Generators is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * Mapper Generators is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Mapper Generators.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.gitlab.faerytea.mapper.jackson;
+
+import com.gitlab.faerytea.mapper.gen.AdapterInfo;
+import com.gitlab.faerytea.mapper.gen.GeneratingException;
+import com.gitlab.faerytea.mapper.gen.InstanceData;
+import com.gitlab.faerytea.mapper.gen.TypeInfo;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * Byte-level backend: parses from {@code Utf8Input} and serializes
+ * into {@code Utf8Output} (see {@link JacksonUtf8Processor}).
+ * Property names are matched on raw UTF-8 bytes against per-class
+ * tables and are never decoded for known properties.
+ */
+public class Utf8Processor extends JacksonUtf8Processor {
+    private static final ClassName NAMES = ClassName.get(UTF8, "Utf8Input", "Names");
+    private static final String TOKEN = UTF8 + ".Utf8Input.Token";
+    private static final CodeBlock INPUT_POSITION = CodeBlock.of("in.position()");
+    private static final CodeBlock INITIAL_ADVANCE = CodeBlock.builder()
+            .beginControlFlow("if (in.currentToken() == $L.NULL)", TOKEN)
+            .addStatement("in.nextToken()")
+            .addStatement("return null")
+            .endControlFlow()
+            .addStatement("in.nextToken()")
+            .build();
+    private static final CodeBlock FINAL_MOVE = CodeBlock.builder()
+            // all known properties are read, skip trailing ones
+            .beginControlFlow("while (in.currentToken() == $L.FIELD_NAME)", TOKEN)
+            .addStatement("in.nextToken()")
+            .addStatement("in.skipValue()")
+            .endControlFlow()
+            .addStatement("in.nextToken()")
+            .build();
+    private static final CodeBlock SKIP_VALUE = CodeBlock.builder()
+            .addStatement("in.skipValue()")
+            .build();
+    private static final CodeBlock NEXT_NAME = CodeBlock.builder()
+            .addStatement("name = in.nextName()")
+            .build();
+    private static final AdapterInfo SKIP_UNKNOWN = new AdapterInfo(
+            UTF8 + ".SkipUnknown",
+            new InstanceData(UTF8 + ".SkipUnknown", "INSTANCE", false));
+    private final Map<TypeInfo, AdapterInfo> defaultParsers = new HashMap<>();
+
+    public Utf8Processor(@NotNull ProcessingEnvironment env) throws GeneratingException {
+        super(env, UTF8 + ".Utf8Input");
+        put("StringParser", typeFrom(String.class));
+        putPrim(TypeKind.BOOLEAN);
+        putPrim(TypeKind.INT);
+        putPrim(TypeKind.LONG);
+        putPrim(TypeKind.DOUBLE);
+        putPrimArray(TypeKind.BOOLEAN);
+        putPrimArray(TypeKind.INT);
+        putPrimArray(TypeKind.LONG);
+        putPrimArray(TypeKind.DOUBLE);
+        put("ArrayListParser", typeFrom(ArrayList.class));
+        put("ArrayListParser", typeFrom(List.class));
+        put("SetParser", typeFrom(Set.class));
+        put("MapParser", typeFrom(Map.class));
+    }
+
+    @Override
+    protected @NotNull CodeBlock initialAdvance() {
+        return INITIAL_ADVANCE;
+    }
+
+    @Override
+    protected @NotNull CodeBlock nextName() {
+        return NEXT_NAME;
+    }
+
+    @Override
+    protected @NotNull CodeBlock nextName(@NotNull Collection<@NotNull String> expected) {
+        if (expected.isEmpty()) return NEXT_NAME;
+        final String table = constant(NAMES, "NAMES", CodeBlock.of("new $T($L)", NAMES,
+                expected.stream().map(n -> CodeBlock.of("$S", n).toString()).collect(Collectors.joining(", "))));
+        return CodeBlock.of("name = in.nextName($L);\n", table);
+    }
+
+    @Override
+    protected boolean canPredictNames() {
+        return true;
+    }
+
+    @Override
+    protected @NotNull CodeBlock nameIs(@NotNull String expected) {
+        // known names are returned as instances from Names table, i.e. literals
+        return CodeBlock.of("name == $L", expected);
+    }
+
+    @Override
+    protected boolean canParseInto(@NotNull AdapterInfo adapter) {
+        return false;
+    }
+
+    @Override
+    protected @NotNull CodeBlock skipValue() {
+        return SKIP_VALUE;
+    }
+
+    @Override
+    protected @NotNull CodeBlock finalMove() {
+        return FINAL_MOVE;
+    }
+
+    @Override
+    protected @Nullable CodeBlock inputPosition() {
+        return INPUT_POSITION;
+    }
+
+    @Override
+    public @NotNull Map<TypeInfo, AdapterInfo> getDefaultParsers() {
+        return defaultParsers;
+    }
+
+    @Override
+    public @NotNull AdapterInfo getDefaultUnknownPropertyHandler() {
+        return SKIP_UNKNOWN;
+    }
+
+    private void putPrim(TypeKind tp) {
+        String name = tp.name();
+        put(name.charAt(0) + name.substring(1).toLowerCase() + "Parser", typeUtils.getPrimitiveType(tp));
+    }
+
+    private void putPrimArray(TypeKind tp) {
+        String name = tp.name();
+        put(name.charAt(0) + name.substring(1).toLowerCase() + "ArrayParser", typeUtils.getArrayType(typeUtils.getPrimitiveType(tp)));
+    }
+
+    private void put(String simpleName, TypeMirror type) {
+        final String className = UTF8 + '.' + simpleName;
+        defaultParsers.put(
+                TypeInfo.from(type),
+                new AdapterInfo(className, new InstanceData(className, "INSTANCE", false)));
+    }
+}
@@ -36,7 +36,10 @@ public class ArrayListMapper implements CollectionsMapper<ArrayList, JsonParser,
 
     @Override
     public <T> ArrayList<T> toObject(final JsonParser source, final Parser<T, JsonParser> itemParser) throws IOException {
-        final ArrayList<T> res = new ArrayList<T>();
+        return toObject(source, itemParser, null);
+    }
+
+    public <T> ArrayList<T> toObject(final JsonParser source, final Parser<T, JsonParser> itemParser, final ArrayList<T> reuse) throws IOException {
         JsonToken open = source.currentToken();
         switch (open) {
             case VALUE_NULL:
@@ -47,6 +50,13 @@ public class ArrayListMapper implements CollectionsMapper<ArrayList, JsonParser,
             default:
                 throw new JsonParseException(source, "expected array, got " + open);
         }
+        final ArrayList<T> res;
+        if (reuse == null) {
+            res = new ArrayList<T>();
+        } else {
+            res = reuse;
+            res.clear();
+        }
         source.nextToken();
         while (source.currentToken() != JsonToken.END_ARRAY) {
             res.add(itemParser.toObject(source));
@@ -0,0 +1,54 @@
+package com.gitlab.faerytea.mapper.jackson.collections;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.gitlab.faerytea.mapper.adapters.MappingAdapter;
+import com.gitlab.faerytea.mapper.annotations.DefaultMapper;
+import com.gitlab.faerytea.mapper.annotations.Instance;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+@DefaultMapper
+public class DoubleArrayMapper implements MappingAdapter<double[], JsonParser, JsonGenerator> {
+    @Instance
+    public static final DoubleArrayMapper INSTANCE = new DoubleArrayMapper();
+    private static final double[] EMPTY = new double[0];
+
+    @Override
+    public double[] toObject(JsonParser source) throws IOException {
+        JsonToken open = source.currentToken();
+        switch (open) {
+            case VALUE_NULL:
+                source.nextToken();
+                return null;
+            case START_ARRAY:
+                break;
+            default:
+                throw new JsonParseException(source, "expected array, got " + open);
+        }
+        if (source.nextToken() == JsonToken.END_ARRAY) {
+            source.nextToken();
+            return EMPTY;
+        }
+        double[] res = new double[16];
+        int size = 0;
+        do {
+            if (size == res.length) res = Arrays.copyOf(res, size << 1);
+            res[size++] = source.getDoubleValue();
+        } while (source.nextToken() != JsonToken.END_ARRAY);
+        source.nextToken();
+        return size == res.length ? res : Arrays.copyOf(res, size);
+    }
+
+    @Override
+    public void write(double[] object, JsonGenerator to) throws IOException {
+        if (object == null) {
+            to.writeNull();
+            return;
+        }
+        to.writeArray(object, 0, object.length);
+    }
+}
@@ -0,0 +1,82 @@
+package com.gitlab.faerytea.mapper.jackson.collections;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.util.JsonGeneratorDelegate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+// writes scalar values as property names, used for serializing map keys
+class FieldNameGenerator extends JsonGeneratorDelegate {
+    FieldNameGenerator(JsonGenerator d) {
+        super(d, false);
+    }
+
+    // instances are reused, see MapMapper
+    FieldNameGenerator to(JsonGenerator d) {
+        delegate = d;
+        return this;
+    }
+
+    @Override
+    public void writeString(String text) throws IOException {
+        delegate.writeFieldName(text);
+    }
+
+    @Override
+    public void writeString(char[] text, int offset, int len) throws IOException {
+        delegate.writeFieldName(new String(text, offset, len));
+    }
+
+    @Override
+    public void writeString(SerializableString text) throws IOException {
+        delegate.writeFieldName(text);
+    }
+
+    @Override
+    public void writeNumber(short v) throws IOException {
+        delegate.writeFieldName(String.valueOf(v));
+    }
+
+    @Override
+    public void writeNumber(int v) throws IOException {
+        delegate.writeFieldName(String.valueOf(v));
+    }
+
+    @Override
+    public void writeNumber(long v) throws IOException {
+        delegate.writeFieldName(String.valueOf(v));
+    }
+
+    @Override
+    public void writeNumber(BigInteger v) throws IOException {
+        delegate.writeFieldName(String.valueOf(v));
+    }
+
+    @Override
+    public void writeNumber(double v) throws IOException {
+        delegate.writeFieldName(String.valueOf(v));
+    }
+
+    @Override
+    public void writeNumber(float v) throws IOException {
+        delegate.writeFieldName(String.valueOf(v));
+    }
+
+    @Override
+    public void writeNumber(BigDecimal v) throws IOException {
+        delegate.writeFieldName(String.valueOf(v));
+    }
+
+    @Override
+    public void writeNumber(String encodedValue) throws IOException {
+        delegate.writeFieldName(encodedValue);
+    }
+
+    @Override
+    public void writeBoolean(boolean state) throws IOException {
+        delegate.writeFieldName(String.valueOf(state));
+    }
+}
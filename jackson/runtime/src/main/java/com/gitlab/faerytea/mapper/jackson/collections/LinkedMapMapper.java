@@ -0,0 +1,17 @@
+package com.gitlab.faerytea.mapper.jackson.collections;
+
+import com.gitlab.faerytea.mapper.annotations.Instance;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// keeps order of properties
+public class LinkedMapMapper extends MapMapper {
+    @Instance
+    public static final LinkedMapMapper INSTANCE = new LinkedMapMapper();
+
+    @Override
+    protected <K, V> Map<K, V> newMap(int expectedSize) {
+        return new LinkedHashMap<K, V>(capacity(expectedSize));
+    }
+}
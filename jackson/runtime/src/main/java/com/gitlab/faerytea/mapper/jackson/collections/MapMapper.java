@@ -0,0 +1,133 @@
+package com.gitlab.faerytea.mapper.jackson.collections;
+
+import com.fasterxml.jackson.core.JsonGenerationException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.gitlab.faerytea.mapper.adapters.MappingAdapter;
+import com.gitlab.faerytea.mapper.adapters.Parser;
+import com.gitlab.faerytea.mapper.adapters.Serializer;
+import com.gitlab.faerytea.mapper.annotations.DefaultMapper;
+import com.gitlab.faerytea.mapper.annotations.Instance;
+import com.gitlab.faerytea.mapper.jackson.primitives.StringMapper;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.fasterxml.jackson.core.JsonToken.*;
+
+// keys are parsed from property names, so key parser must read text
+// (e.g. StringMapper, probably with converter)
+@DefaultMapper
+public class MapMapper {
+    @Instance
+    public static final MapMapper INSTANCE = new MapMapper();
+
+    private static final ThreadLocal<FieldNameGenerator> KEYS = new ThreadLocal<FieldNameGenerator>() {
+        @Override
+        protected FieldNameGenerator initialValue() {
+            return new FieldNameGenerator(null);
+        }
+    };
+
+    protected <K, V> Map<K, V> newMap(int expectedSize) {
+        return new HashMap<K, V>(capacity(expectedSize));
+    }
+
+    protected static int capacity(int expectedSize) {
+        // default load factor is 0.75
+        return expectedSize < 3 ? expectedSize + 1 : (int) (expectedSize / 0.75f + 1.0f);
+    }
+
+    public <K, V> MappingAdapter<Map<K, V>, JsonParser, JsonGenerator> apply(final MappingAdapter<K, JsonParser, JsonGenerator> keyMapper,
+                                                                            final MappingAdapter<V, JsonParser, JsonGenerator> valueMapper) {
+        return new MappingAdapter<Map<K, V>, JsonParser, JsonGenerator>() {
+            @Override
+            public Map<K, V> toObject(JsonParser source) throws IOException {
+                return MapMapper.this.toObject(source, keyMapper, valueMapper);
+            }
+
+            @Override
+            public void write(Map<K, V> object, JsonGenerator to) throws IOException {
+                MapMapper.this.write(object, to, keyMapper, valueMapper);
+            }
+        };
+    }
+
+    public <K, V> Map<K, V> toObject(JsonParser in, Parser<K, JsonParser> keyParser, Parser<V, JsonParser> valueParser) throws IOException {
+        switch (in.currentToken()) {
+            case VALUE_NULL:
+                in.nextToken();
+                return null;
+            case START_OBJECT:
+                break;
+            default:
+                throw new JsonParseException(in, "Expected " + START_OBJECT + ", got " + in.currentToken());
+        }
+        in.nextToken();
+        // entries are buffered, so map is created with exact capacity and never rehashed
+        Object[] entries = new Object[32];
+        int size = 0;
+        while (in.currentToken() == FIELD_NAME) {
+            if (size == entries.length) entries = Arrays.copyOf(entries, size << 1);
+            entries[size++] = keyParser.toObject(in);
+            entries[size++] = valueParser.toObject(in);
+        }
+        if (in.currentToken() != END_OBJECT)
+            throw new JsonParseException(in, "Expected " + END_OBJECT + ", got " + in.currentToken());
+        in.nextToken();
+        final Map<K, V> res = newMap(size >> 1);
+        for (int i = 0; i < size; i += 2) {
+            @SuppressWarnings("unchecked")
+            final K key = (K) entries[i];
+            @SuppressWarnings("unchecked")
+            final V value = (V) entries[i + 1];
+            res.put(key, value);
+        }
+        return res;
+    }
+
+    public <K, V> Parser<Map<K, V>, JsonParser> apply(final Parser<K, JsonParser> keyParser,
+                                                     final Parser<V, JsonParser> valueParser) {
+        return new Parser<Map<K, V>, JsonParser>() {
+            @Override
+            public Map<K, V> toObject(JsonParser source) throws IOException {
+                return MapMapper.this.toObject(source, keyParser, valueParser);
+            }
+        };
+    }
+
+    public <K, V> void write(Map<K, V> object, JsonGenerator to, Serializer<K, JsonGenerator> keySerializer, Serializer<V, JsonGenerator> valueSerializer) throws IOException {
+        if (object == null) {
+            to.writeNull();
+            return;
+        }
+        to.writeStartObject();
+        final FieldNameGenerator keys = keySerializer == StringMapper.INSTANCE ? null : KEYS.get();
+        for (Map.Entry<K, V> e : object.entrySet()) {
+            final K key = e.getKey();
+            if (key == null) throw new JsonGenerationException("Map key is null", to);
+            if (keys == null) {
+                to.writeFieldName((String) key);
+            } else {
+                // retargeted for every key: values may contain maps written to other generators
+                keySerializer.write(key, keys.to(to));
+            }
+            valueSerializer.write(e.getValue(), to);
+        }
+        to.writeEndObject();
+    }
+
+    public <K, V> Serializer<Map<K, V>, JsonGenerator> apply(final Serializer<K, JsonGenerator> keySerializer,
+                                                            final Serializer<V, JsonGenerator> valueSerializer) {
+        return new Serializer<Map<K, V>, JsonGenerator>() {
+            @Override
+            public void write(Map<K, V> object, JsonGenerator to) throws IOException {
+                MapMapper.this.write(object, to, keySerializer, valueSerializer);
+            }
+        };
+    }
+}
@@ -0,0 +1,66 @@
+package com.gitlab.faerytea.mapper.jackson.lazy;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.gitlab.faerytea.mapper.adapters.Parser;
+import com.gitlab.faerytea.mapper.adapters.Serializer;
+
+import java.io.IOException;
+
+// unbound value is written back without parsing
+public final class Lazy<T> {
+    private byte[] raw;
+    private Parser<T, JsonParser> parser;
+    private T value;
+
+    Lazy(byte[] raw, Parser<T, JsonParser> parser) {
+        this.raw = raw;
+        this.parser = parser;
+    }
+
+    private Lazy(T value) {
+        this.value = value;
+    }
+
+    public static <T> Lazy<T> of(T value) {
+        return new Lazy<T>(value);
+    }
+
+    public synchronized T get() throws IOException {
+        if (raw != null) {
+            final JsonParser in = LazyMapper.FACTORY.createParser(raw);
+            try {
+                in.nextToken();
+                value = parser.toObject(in);
+            } finally {
+                in.close();
+            }
+            raw = null;
+            parser = null;
+        }
+        return value;
+    }
+
+    public synchronized boolean isBound() {
+        return raw == null;
+    }
+
+    synchronized void write(JsonGenerator to, Serializer<T, JsonGenerator> serializer) throws IOException {
+        if (raw == null) {
+            serializer.write(value, to);
+            return;
+        }
+        final JsonParser in = LazyMapper.FACTORY.createParser(raw);
+        try {
+            in.nextToken();
+            to.copyCurrentStructure(in);
+        } finally {
+            in.close();
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return raw == null ? "Lazy{" + value + '}' : "Lazy{<" + raw.length + " bytes>}";
+    }
+}
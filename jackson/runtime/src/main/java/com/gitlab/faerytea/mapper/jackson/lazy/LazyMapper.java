@@ -0,0 +1,78 @@
+package com.gitlab.faerytea.mapper.jackson.lazy;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.gitlab.faerytea.mapper.adapters.MappingAdapter;
+import com.gitlab.faerytea.mapper.adapters.Parser;
+import com.gitlab.faerytea.mapper.adapters.Serializer;
+import com.gitlab.faerytea.mapper.annotations.DefaultMapper;
+import com.gitlab.faerytea.mapper.annotations.Instance;
+
+import java.io.IOException;
+
+@DefaultMapper
+public class LazyMapper {
+    @Instance
+    public static final LazyMapper INSTANCE = new LazyMapper();
+    static final JsonFactory FACTORY = new JsonFactory();
+
+    public <T> MappingAdapter<Lazy<T>, JsonParser, JsonGenerator> apply(final MappingAdapter<T, JsonParser, JsonGenerator> itemMapper) {
+        return new MappingAdapter<Lazy<T>, JsonParser, JsonGenerator>() {
+            @Override
+            public Lazy<T> toObject(JsonParser source) throws IOException {
+                return LazyMapper.this.toObject(source, itemMapper);
+            }
+
+            @Override
+            public void write(Lazy<T> object, JsonGenerator to) throws IOException {
+                LazyMapper.this.write(object, to, itemMapper);
+            }
+        };
+    }
+
+    public <T> Lazy<T> toObject(JsonParser source, Parser<T, JsonParser> itemParser) throws IOException {
+        if (source.currentToken() == JsonToken.VALUE_NULL) {
+            source.nextToken();
+            return null;
+        }
+        // keep raw tokens only, value is parsed by Lazy.get()
+        final ByteArrayBuilder buffer = new ByteArrayBuilder();
+        final JsonGenerator copy = FACTORY.createGenerator(buffer);
+        try {
+            copy.copyCurrentStructure(source);
+        } finally {
+            copy.close();
+        }
+        source.nextToken();
+        return new Lazy<T>(buffer.toByteArray(), itemParser);
+    }
+
+    public <T> Parser<Lazy<T>, JsonParser> apply(final Parser<T, JsonParser> itemParser) {
+        return new Parser<Lazy<T>, JsonParser>() {
+            @Override
+            public Lazy<T> toObject(JsonParser source) throws IOException {
+                return LazyMapper.this.toObject(source, itemParser);
+            }
+        };
+    }
+
+    public <T> void write(Lazy<T> object, JsonGenerator to, Serializer<T, JsonGenerator> itemSerializer) throws IOException {
+        if (object == null) {
+            to.writeNull();
+            return;
+        }
+        object.write(to, itemSerializer);
+    }
+
+    public <T> Serializer<Lazy<T>, JsonGenerator> apply(final Serializer<T, JsonGenerator> itemSerializer) {
+        return new Serializer<Lazy<T>, JsonGenerator>() {
+            @Override
+            public void write(Lazy<T> object, JsonGenerator to) throws IOException {
+                LazyMapper.this.write(object, to, itemSerializer);
+            }
+        };
+    }
+}
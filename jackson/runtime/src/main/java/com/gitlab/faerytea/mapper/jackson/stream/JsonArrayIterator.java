@@ -0,0 +1,82 @@
+package com.gitlab.faerytea.mapper.jackson.stream;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.gitlab.faerytea.mapper.adapters.Parser;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// Binds items of JSON array one by one, so only current item is in memory.
+// Parser must point to the start of array (or before it, if nothing was read yet);
+// after last item it points right after the array, like after any other parser.
+// I/O and parsing errors are rethrown as IllegalStateException with original cause.
+public class JsonArrayIterator<T> implements Iterator<T>, Closeable {
+    private final JsonParser in;
+    private final Parser<T, JsonParser> itemParser;
+    private boolean finished;
+
+    public JsonArrayIterator(JsonParser in, Parser<T, JsonParser> itemParser) throws IOException {
+        this.in = in;
+        this.itemParser = itemParser;
+        JsonToken open = in.currentToken();
+        if (open == null) open = in.nextToken();
+        if (open == JsonToken.VALUE_NULL) {
+            in.nextToken();
+            finished = true;
+            return;
+        }
+        if (open != JsonToken.START_ARRAY)
+            throw new JsonParseException(in, "expected array, got " + open);
+        in.nextToken();
+    }
+
+    public static <T> Iterable<T> iterable(final JsonParser in, final Parser<T, JsonParser> itemParser) {
+        return new Iterable<T>() {
+            @Override
+            public Iterator<T> iterator() {
+                try {
+                    return new JsonArrayIterator<T>(in, itemParser);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (finished) return false;
+        if (in.currentToken() != JsonToken.END_ARRAY) return true;
+        finished = true;
+        try {
+            in.nextToken();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return false;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        try {
+            return itemParser.toObject(in);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
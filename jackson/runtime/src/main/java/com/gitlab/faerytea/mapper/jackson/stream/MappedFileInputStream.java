@@ -0,0 +1,102 @@
+package com.gitlab.faerytea.mapper.jackson.stream;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+// Reads file through memory-mapped windows, so files larger than 2 GB
+// are supported; window is remapped when it is exhausted.
+// Mapped memory is released by GC after the window is dropped.
+public class MappedFileInputStream extends InputStream {
+    public static final long DEFAULT_WINDOW = 1L << 28;
+    private final FileChannel channel;
+    private final long size;
+    private final long window;
+    private long next;
+    private MappedByteBuffer current;
+
+    public MappedFileInputStream(FileChannel channel, long window) throws IOException {
+        if (window <= 0 || window > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("window must be in (0, 2^31), got " + window);
+        this.channel = channel;
+        this.size = channel.size();
+        this.window = window;
+    }
+
+    // file is closed if it cannot be sized or mapped
+    public static MappedFileInputStream open(File file) throws IOException {
+        final RandomAccessFile raf = new RandomAccessFile(file, "r");
+        boolean ok = false;
+        try {
+            final MappedFileInputStream res = new MappedFileInputStream(raf.getChannel(), DEFAULT_WINDOW);
+            res.ensure();
+            ok = true;
+            return res;
+        } finally {
+            if (!ok) raf.close();
+        }
+    }
+
+    public static JsonParser parser(JsonFactory factory, File file) throws IOException {
+        // parser closes stream and channel unless AUTO_CLOSE_SOURCE is disabled
+        final MappedFileInputStream in = open(file);
+        boolean ok = false;
+        try {
+            final JsonParser res = factory.createParser(in);
+            ok = true;
+            return res;
+        } finally {
+            if (!ok) in.close();
+        }
+    }
+
+    private boolean ensure() throws IOException {
+        if (current != null && current.hasRemaining()) return true;
+        if (next >= size) return false;
+        final long length = Math.min(window, size - next);
+        current = channel.map(FileChannel.MapMode.READ_ONLY, next, length);
+        next += length;
+        return true;
+    }
+
+    @Override
+    public int read() throws IOException {
+        return ensure() ? current.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) return 0;
+        if (!ensure()) return -1;
+        final int n = Math.min(len, current.remaining());
+        current.get(b, off, n);
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        if (n <= 0) return 0;
+        final long position = next - (current == null ? 0 : current.remaining());
+        final long skipped = Math.min(n, size - position);
+        current = null;
+        next = position + skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return current == null ? 0 : current.remaining();
+    }
+
+    @Override
+    public void close() throws IOException {
+        current = null;
+        channel.close();
+    }
+}
@@ -0,0 +1,69 @@
+package com.gitlab.faerytea.mapper.jackson.stream;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.gitlab.faerytea.mapper.adapters.Parser;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// Reads newline-delimited JSON (one value per line) with single parser for whole stream.
+public class NdjsonReader<T> implements Closeable {
+    public static final int DEFAULT_BATCH_SIZE = 256;
+    private final JsonParser in;
+    private final Parser<T, JsonParser> parser;
+    private final int batchSize;
+
+    public NdjsonReader(JsonParser in, Parser<T, JsonParser> parser, int batchSize) {
+        if (batchSize <= 0) throw new IllegalArgumentException("batch size must be positive, got " + batchSize);
+        this.in = in;
+        this.parser = parser;
+        this.batchSize = batchSize;
+    }
+
+    public NdjsonReader(JsonParser in, Parser<T, JsonParser> parser) {
+        this(in, parser, DEFAULT_BATCH_SIZE);
+    }
+
+    public NdjsonReader(JsonFactory factory, InputStream in, Parser<T, JsonParser> parser) throws IOException {
+        this(factory.createParser(in), parser, DEFAULT_BATCH_SIZE);
+    }
+
+    public boolean hasNext() throws IOException {
+        // generated parsers leave parser on the first token of next value
+        return in.currentToken() != null || in.nextToken() != null;
+    }
+
+    public T next() throws IOException {
+        if (!hasNext()) throw new IOException("end of input");
+        return parser.toObject(in);
+    }
+
+    public int readBatch(Collection<? super T> to, int max) throws IOException {
+        int read = 0;
+        while (read < max && hasNext()) {
+            to.add(parser.toObject(in));
+            ++read;
+        }
+        return read;
+    }
+
+    public int readBatch(Collection<? super T> to) throws IOException {
+        return readBatch(to, batchSize);
+    }
+
+    public List<T> nextBatch() throws IOException {
+        final ArrayList<T> res = new ArrayList<T>(batchSize);
+        readBatch(res, batchSize);
+        return res;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
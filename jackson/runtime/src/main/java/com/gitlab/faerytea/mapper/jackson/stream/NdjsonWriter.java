@@ -0,0 +1,62 @@
+package com.gitlab.faerytea.mapper.jackson.stream;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.gitlab.faerytea.mapper.adapters.Serializer;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+// Writes newline-delimited JSON with single generator for whole stream.
+// Output is flushed every flushEvery records; non-positive value means
+// flushing only by flush() or close().
+public class NdjsonWriter<T> implements Closeable, Flushable {
+    public static final int DEFAULT_FLUSH_EVERY = 256;
+    private final JsonGenerator out;
+    private final Serializer<T, JsonGenerator> serializer;
+    private final int flushEvery;
+    private int pending;
+
+    public NdjsonWriter(JsonGenerator out, Serializer<T, JsonGenerator> serializer, int flushEvery) {
+        if (out.getPrettyPrinter() != null)
+            throw new IllegalArgumentException("pretty printer breaks records into several lines");
+        // records are separated by new lines only
+        out.setRootValueSeparator(null);
+        this.out = out;
+        this.serializer = serializer;
+        this.flushEvery = flushEvery;
+    }
+
+    public NdjsonWriter(JsonGenerator out, Serializer<T, JsonGenerator> serializer) {
+        this(out, serializer, DEFAULT_FLUSH_EVERY);
+    }
+
+    public NdjsonWriter(JsonFactory factory, OutputStream out, Serializer<T, JsonGenerator> serializer) throws IOException {
+        this(factory.createGenerator(out), serializer, DEFAULT_FLUSH_EVERY);
+    }
+
+    public void write(T record) throws IOException {
+        serializer.write(record, out);
+        out.writeRaw('\n');
+        if (++pending == flushEvery) flush();
+    }
+
+    public void writeBatch(Iterable<? extends T> records) throws IOException {
+        for (T record : records) {
+            write(record);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+        pending = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,113 @@
+package com.gitlab.faerytea.mapper.jackson.stream;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.gitlab.faerytea.mapper.adapters.Parser;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+// Accepts input in arbitrary pieces and never waits for more: async parser
+// only finds bounds of root values, input bytes are kept until value is
+// complete, then its bytes are bound by ordinary (blocking) parser.
+// Sequence of root values (e.g. NDJSON) is supported. Not thread-safe.
+public class NonBlockingJsonReader<T> implements Closeable {
+    public interface ValueHandler<T> {
+        void handle(T value) throws IOException;
+    }
+
+    private final JsonFactory factory;
+    private final Parser<T, JsonParser> parser;
+    private final JsonParser async;
+    private final ByteArrayFeeder feeder;
+    // input since end of last complete value; buf[0] is at offset base of whole input
+    private byte[] buf = new byte[4096];
+    private int size;
+    private long base;
+    // end of last complete root value; next one starts after it (maybe after whitespace)
+    private long valueEnd;
+    private int depth;
+
+    public NonBlockingJsonReader(JsonFactory factory, Parser<T, JsonParser> parser) throws IOException {
+        this.factory = factory;
+        this.parser = parser;
+        this.async = factory.createNonBlockingByteArrayParser();
+        this.feeder = (ByteArrayFeeder) async.getNonBlockingInputFeeder();
+    }
+
+    // data may be reused by caller after return
+    public void feed(byte[] data, int offset, int length, ValueHandler<? super T> handler) throws IOException {
+        ensure(length);
+        System.arraycopy(data, offset, buf, size, length);
+        fed(length, handler);
+    }
+
+    public void feed(ByteBuffer data, ValueHandler<? super T> handler) throws IOException {
+        final int length = data.remaining();
+        ensure(length);
+        data.get(buf, size, length);
+        fed(length, handler);
+    }
+
+    public void endOfInput(ValueHandler<? super T> handler) throws IOException {
+        feeder.endOfInput();
+        drain(handler);
+        if (depth != 0) throw new IOException("unexpected end of input inside of value");
+    }
+
+    private void fed(int length, ValueHandler<? super T> handler) throws IOException {
+        // async parser reads the same bytes; it is done with them when drain returns
+        feeder.feedInput(buf, size, size + length);
+        size += length;
+        drain(handler);
+        compact();
+    }
+
+    private void drain(ValueHandler<? super T> handler) throws IOException {
+        JsonToken token;
+        while ((token = async.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            if (token.isStructStart()) {
+                ++depth;
+            } else if (token.isStructEnd()) {
+                --depth;
+            }
+            if (depth == 0) {
+                // token location of async parser points inside of first token, so
+                // value is taken from end of previous one
+                final long end = async.getCurrentLocation().getByteOffset();
+                final JsonParser in = factory.createParser(buf, (int) (valueEnd - base), (int) (end - valueEnd));
+                valueEnd = end;
+                try {
+                    in.nextToken();
+                    handler.handle(parser.toObject(in));
+                } finally {
+                    in.close();
+                }
+            }
+        }
+    }
+
+    // forgets bytes of complete values
+    private void compact() {
+        final int drop = (int) (valueEnd - base);
+        if (drop <= 0) return;
+        System.arraycopy(buf, drop, buf, 0, size - drop);
+        size -= drop;
+        base = valueEnd;
+    }
+
+    private void ensure(int length) {
+        if (size + length <= buf.length) return;
+        final byte[] res = new byte[Math.max(buf.length * 2, size + length)];
+        System.arraycopy(buf, 0, res, 0, size);
+        buf = res;
+    }
+
+    @Override
+    public void close() throws IOException {
+        async.close();
+    }
+}
@@ -0,0 +1,170 @@
+package com.gitlab.faerytea.mapper.jackson.stream;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.gitlab.faerytea.mapper.adapters.Parser;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+// Splits newline-delimited JSON at line boundaries into chunks and binds
+// chunks on executor's threads, each with its own parser. Handler is called
+// from caller's thread with records of one chunk, in input order or in order
+// of completion. At most maxInFlight chunks are parsed or waiting at once.
+public class ParallelNdjsonReader<T> {
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+    public interface ChunkHandler<T> {
+        void handle(List<? extends T> records) throws IOException;
+    }
+
+    private final JsonFactory factory;
+    private final Parser<T, JsonParser> parser;
+    private final ExecutorService executor;
+    private final int chunkSize;
+    private final int maxInFlight;
+
+    public ParallelNdjsonReader(JsonFactory factory, Parser<T, JsonParser> parser, ExecutorService executor, int chunkSize, int maxInFlight) {
+        if (chunkSize <= 0) throw new IllegalArgumentException("chunk size must be positive, got " + chunkSize);
+        if (maxInFlight <= 0) throw new IllegalArgumentException("max in flight must be positive, got " + maxInFlight);
+        this.factory = factory;
+        this.parser = parser;
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        this.maxInFlight = maxInFlight;
+    }
+
+    public ParallelNdjsonReader(JsonFactory factory, Parser<T, JsonParser> parser, ExecutorService executor) {
+        this(factory, parser, executor, DEFAULT_CHUNK_SIZE, 2 * Runtime.getRuntime().availableProcessors());
+    }
+
+    public void read(byte[] data, int offset, int length, boolean ordered, ChunkHandler<? super T> handler) throws IOException {
+        read(ByteBuffer.wrap(data, offset, length), ordered, handler);
+    }
+
+    public void read(ByteBuffer data, boolean ordered, ChunkHandler<? super T> handler) throws IOException {
+        final ArrayDeque<Future<List<T>>> inFlight = new ArrayDeque<Future<List<T>>>(maxInFlight);
+        final CompletionService<List<T>> completion = ordered ? null : new ExecutorCompletionService<List<T>>(executor);
+        final int end = data.limit();
+        int start = data.position();
+        try {
+            while (start < end) {
+                final int chunkEnd = lineEnd(data, start, end);
+                final ByteBuffer chunk = data.duplicate();
+                chunk.limit(chunkEnd);
+                chunk.position(start);
+                final Callable<List<T>> task = new Callable<List<T>>() {
+                    @Override
+                    public List<T> call() throws IOException {
+                        return parse(chunk);
+                    }
+                };
+                inFlight.add(ordered ? executor.submit(task) : completion.submit(task));
+                if (inFlight.size() == maxInFlight) {
+                    deliver(ordered ? inFlight.poll() : take(completion, inFlight), handler);
+                }
+                start = chunkEnd;
+            }
+            while (!inFlight.isEmpty()) {
+                deliver(ordered ? inFlight.poll() : take(completion, inFlight), handler);
+            }
+        } finally {
+            for (Future<List<T>> f : inFlight) {
+                f.cancel(true);
+            }
+        }
+    }
+
+    // maps file by windows ending at line boundaries, so it may be larger than 2 GB;
+    // every line must fit into window
+    public void read(FileChannel channel, long window, boolean ordered, ChunkHandler<? super T> handler) throws IOException {
+        if (window <= 0 || window > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("window must be in (0, 2^31), got " + window);
+        final long size = channel.size();
+        long position = 0;
+        while (position < size) {
+            final long length = Math.min(window, size - position);
+            final MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            int limit = (int) length;
+            if (position + length < size) {
+                while (limit > 0 && mapped.get(limit - 1) != '\n') --limit;
+                if (limit == 0) throw new IOException("line at " + position + " is longer than window " + window);
+                mapped.limit(limit);
+            }
+            read(mapped, ordered, handler);
+            position += limit;
+        }
+    }
+
+    public List<T> readAll(byte[] data, int offset, int length) throws IOException {
+        final ArrayList<T> res = new ArrayList<T>();
+        read(data, offset, length, true, new ChunkHandler<T>() {
+            @Override
+            public void handle(List<? extends T> records) {
+                res.addAll(records);
+            }
+        });
+        return res;
+    }
+
+    private int lineEnd(ByteBuffer data, int start, int end) {
+        int i = (int) Math.min((long) start + chunkSize, end);
+        while (i < end && data.get(i - 1) != '\n') ++i;
+        return i;
+    }
+
+    private List<T> parse(ByteBuffer chunk) throws IOException {
+        final JsonParser in = chunk.hasArray()
+                ? factory.createParser(chunk.array(), chunk.arrayOffset() + chunk.position(), chunk.remaining())
+                : factory.createParser(new ByteBufferInputStream(chunk));
+        try {
+            final ArrayList<T> res = new ArrayList<T>();
+            while (in.currentToken() != null || in.nextToken() != null) {
+                res.add(parser.toObject(in));
+            }
+            return res;
+        } finally {
+            in.close();
+        }
+    }
+
+    private Future<List<T>> take(CompletionService<List<T>> completion, ArrayDeque<Future<List<T>>> inFlight) throws IOException {
+        try {
+            final Future<List<T>> done = completion.take();
+            inFlight.remove(done);
+            return done;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while waiting for chunk");
+        }
+    }
+
+    private void deliver(Future<List<T>> chunk, ChunkHandler<? super T> handler) throws IOException {
+        final List<T> records;
+        try {
+            records = chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while waiting for chunk");
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IOException(String.valueOf(cause));
+        }
+        handler.handle(records);
+    }
+}
@@ -0,0 +1,19 @@
+package com.gitlab.faerytea.mapper.jackson.unknown;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.gitlab.faerytea.mapper.adapters.UnknownPropertyHandler;
+import com.gitlab.faerytea.mapper.annotations.Instance;
+
+import java.io.IOException;
+
+public class SkipUnknown implements UnknownPropertyHandler<JsonParser> {
+    @Instance
+    public static final SkipUnknown INSTANCE = new SkipUnknown();
+
+    @Override
+    public void handle(String name, JsonParser currentInput) throws IOException {
+        // whole object or array in one step, scalars are just a single token
+        currentInput.skipChildren();
+        currentInput.nextToken();
+    }
+}
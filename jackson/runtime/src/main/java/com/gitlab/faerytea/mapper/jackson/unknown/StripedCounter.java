@@ -0,0 +1,39 @@
+package com.gitlab.faerytea.mapper.jackson.unknown;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Counter with cells per thread stripe, each on its own cache line,
+// so concurrent increments do not contend. Same idea as LongAdder,
+// which is not available on Java 6.
+final class StripedCounter {
+    // longs per cache line
+    static final int PAD = 8;
+    static final int STRIPES = stripes();
+    private static final int MASK = STRIPES - 1;
+
+    private final AtomicLongArray cells = new AtomicLongArray(STRIPES * PAD);
+
+    static int stripe() {
+        return (int) Thread.currentThread().getId() & MASK;
+    }
+
+    long add(int stripe, long delta) {
+        return cells.addAndGet(stripe * PAD, delta);
+    }
+
+    long sum() {
+        long res = 0;
+        for (int i = 0; i < STRIPES; ++i) {
+            res += cells.get(i * PAD);
+        }
+        return res;
+    }
+
+    private static int stripes() {
+        int res = 1;
+        // bounded: every counted property has its own cells
+        final int wanted = Math.min(Runtime.getRuntime().availableProcessors() * 2, 16);
+        while (res < wanted) res <<= 1;
+        return res;
+    }
+}
@@ -0,0 +1,187 @@
+package com.gitlab.faerytea.mapper.jackson.unknown;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.gitlab.faerytea.mapper.adapters.TypedUnknownPropertyHandler;
+import com.gitlab.faerytea.mapper.annotations.Instance;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Skips unknown properties like SkipUnknown and counts them per type and name.
+// Each property is recorded with its skipped size at random with probability
+// 1/sampleRate, and reports scale samples back, so counts are estimates.
+// At most maxNames names are tracked per type (about 2 KiB each), others,
+// e.g. ids used as keys, are counted together as "(other)".
+// Usage: @Mappable(onUnknown = TrackUnknown.class), then TrackUnknown.top(10).
+// Statistics are global: handlers from libraries are created by generated
+// holders, so there may be several instances.
+public class TrackUnknown implements TypedUnknownPropertyHandler<JsonParser> {
+    @Instance
+    public static final TrackUnknown INSTANCE = new TrackUnknown();
+    public static final String OTHER = "(other)";
+
+    private static final Comparator<Entry> BY_COST = new Comparator<Entry>() {
+        @Override
+        public int compare(Entry o1, Entry o2) {
+            if (o1.bytes != o2.bytes) return o1.bytes < o2.bytes ? 1 : -1;
+            return o1.count < o2.count ? 1 : o1.count == o2.count ? 0 : -1;
+        }
+    };
+
+    // xorshift states per stripe; races only change which property is sampled
+    private static final long[] SEEDS = new long[StripedCounter.STRIPES * StripedCounter.PAD];
+    private static final ConcurrentMap<Class<?>, Names> STATS = new ConcurrentHashMap<Class<?>, Names>();
+    private static volatile int sampleRate = 16;
+    private static volatile int maxNames = 64;
+
+    // rate is rounded up to power of two, 1 records everything;
+    // call before parsing, samples of different rates are not comparable
+    public static void sampleEvery(int rate) {
+        int res = 1;
+        while (res < rate) res <<= 1;
+        sampleRate = res;
+    }
+
+    // applies to names which are not tracked yet
+    public static void maxNames(int max) {
+        if (max < 0) throw new IllegalArgumentException("max must not be negative, got " + max);
+        maxNames = max;
+    }
+
+    @Override
+    public void handle(String name, JsonParser currentInput) throws IOException {
+        // parser generated for handler of another kind
+        handle(Object.class, name, currentInput);
+    }
+
+    @Override
+    public void handle(Class<?> type, String name, JsonParser currentInput) throws IOException {
+        final int stripe = StripedCounter.stripe();
+        if ((random(stripe) & (sampleRate - 1)) != 0) {
+            currentInput.skipChildren();
+            currentInput.nextToken();
+            return;
+        }
+        final long from = offset(currentInput.getTokenLocation());
+        currentInput.skipChildren();
+        final long to = offset(currentInput.getCurrentLocation());
+        currentInput.nextToken();
+        final Stat stat = statOf(type, name);
+        stat.samples.add(stripe, 1);
+        if (from >= 0 && to >= from) stat.bytes.add(stripe, to - from);
+    }
+
+    // estimated most expensive properties: by skipped size, then by count
+    public static List<Entry> top(int n) {
+        final long rate = sampleRate;
+        final List<Entry> res = new ArrayList<Entry>();
+        for (Map.Entry<Class<?>, Names> byType : STATS.entrySet()) {
+            final Names names = byType.getValue();
+            for (Map.Entry<String, Stat> byName : names.byName.entrySet()) {
+                final Stat stat = byName.getValue();
+                res.add(new Entry(byType.getKey(), byName.getKey(),
+                        stat.samples.sum() * rate, stat.bytes.sum() * rate));
+            }
+            final long other = names.other.samples.sum();
+            if (other != 0) {
+                res.add(new Entry(byType.getKey(), OTHER, other * rate, names.other.bytes.sum() * rate));
+            }
+        }
+        Collections.sort(res, BY_COST);
+        return res.size() > n ? new ArrayList<Entry>(res.subList(0, n)) : res;
+    }
+
+    public static void report(Appendable out, int n) throws IOException {
+        out.append("type\tproperty\tcount\tbytes\n");
+        for (Entry e : top(n)) {
+            out.append(e.type.getName())
+                    .append('\t').append(e.name)
+                    .append('\t').append(String.valueOf(e.count))
+                    .append('\t').append(String.valueOf(e.bytes))
+                    .append('\n');
+        }
+    }
+
+    public static void reset() {
+        STATS.clear();
+    }
+
+    private static Stat statOf(Class<?> type, String name) {
+        Names names = STATS.get(type);
+        if (names == null) {
+            final Names created = new Names();
+            names = STATS.putIfAbsent(type, created);
+            if (names == null) names = created;
+        }
+        Stat stat = names.byName.get(name);
+        if (stat != null) return stat;
+        // slot is reserved before insertion, so the limit holds under races
+        if (names.tracked.incrementAndGet() > maxNames) {
+            names.tracked.decrementAndGet();
+            return names.other;
+        }
+        final Stat created = new Stat();
+        stat = names.byName.putIfAbsent(name, created);
+        if (stat == null) return created;
+        names.tracked.decrementAndGet();
+        return stat;
+    }
+
+    // random, not periodic: messages usually repeat the same unknown properties,
+    // so every n-th one would always be the same property
+    private static long random(int stripe) {
+        final int i = stripe * StripedCounter.PAD;
+        long x = SEEDS[i];
+        if (x == 0) x = System.nanoTime() | 1;
+        x ^= x << 13;
+        x ^= x >>> 7;
+        x ^= x << 17;
+        SEEDS[i] = x;
+        return x;
+    }
+
+    // chars for parsers over Reader / String
+    private static long offset(JsonLocation location) {
+        final long bytes = location.getByteOffset();
+        return bytes >= 0 ? bytes : location.getCharOffset();
+    }
+
+    private static final class Names {
+        final ConcurrentMap<String, Stat> byName = new ConcurrentHashMap<String, Stat>();
+        final AtomicInteger tracked = new AtomicInteger();
+        final Stat other = new Stat();
+    }
+
+    private static final class Stat {
+        final StripedCounter samples = new StripedCounter();
+        final StripedCounter bytes = new StripedCounter();
+    }
+
+    public static final class Entry {
+        // Object.class if parser did not tell the type
+        public final Class<?> type;
+        public final String name;
+        public final long count;
+        public final long bytes;
+
+        public Entry(Class<?> type, String name, long count, long bytes) {
+            this.type = type;
+            this.name = name;
+            this.count = count;
+            this.bytes = bytes;
+        }
+
+        @Override
+        public String toString() {
+            return type.getName() + '.' + name + ": " + count + " times, " + bytes + " bytes";
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.gitlab.faerytea.mapper.jackson.utf8;
+
+import com.gitlab.faerytea.mapper.adapters.CollectionsParser;
+import com.gitlab.faerytea.mapper.adapters.Parser;
+import com.gitlab.faerytea.mapper.annotations.DefaultParser;
+import com.gitlab.faerytea.mapper.annotations.Instance;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+// serves List too
+@DefaultParser
+public class ArrayListParser implements CollectionsParser<ArrayList, Utf8Input> {
+    @Instance
+    public static final ArrayListParser INSTANCE = new ArrayListParser();
+
+    @Override
+    public <T> ArrayList<T> toObject(Utf8Input source, Parser<T, Utf8Input> itemParser) throws IOException {
+        final Utf8Input.Token open = source.currentToken();
+        if (open == Utf8Input.Token.NULL) {
+            source.nextToken();
+            return null;
+        }
+        if (open != Utf8Input.Token.START_ARRAY) throw source.error("expected array, got " + open);
+        final ArrayList<T> res = new ArrayList<T>();
+        source.nextToken();
+        while (source.currentToken() != Utf8Input.Token.END_ARRAY) {
+            res.add(itemParser.toObject(source));
+        }
+        source.nextToken();
+        return res;
+    }
+
+    @Override
+    public <T> Parser<ArrayList<T>, Utf8Input> apply(final Parser<T, Utf8Input> itemParser) {
+        return new Parser<ArrayList<T>, Utf8Input>() {
+            @Override
+            public ArrayList<T> toObject(Utf8Input source) throws IOException {
+                return ArrayListParser.this.toObject(source, itemParser);
+            }
+        };
+    }
+}
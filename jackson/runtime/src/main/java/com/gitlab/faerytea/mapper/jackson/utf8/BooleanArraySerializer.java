@@ -0,0 +1,25 @@
+package com.gitlab.faerytea.mapper.jackson.utf8;
+
+import com.gitlab.faerytea.mapper.adapters.Serializer;
+import com.gitlab.faerytea.mapper.annotations.DefaultSerializer;
+import com.gitlab.faerytea.mapper.annotations.Instance;
+
+@DefaultSerializer
+public class BooleanArraySerializer implements Serializer<boolean[], Utf8Output> {
+    @Instance
+    public static final BooleanArraySerializer INSTANCE = new BooleanArraySerializer();
+
+    @Override
+    public void write(boolean[] object, Utf8Output to) {
+        if (object == null) {
+            to.writeNull();
+            return;
+        }
+        to.writeByte('[');
+        for (int i = 0; i < object.length; ++i) {
+            if (i != 0) to.writeByte(',');
+            to.writeBoolean(object[i]);
+        }
+        to.writeByte(']');
+    }
+}
@@ -0,0 +1,22 @@
+package com.gitlab.faerytea.mapper.jackson.utf8;
+
+import com.gitlab.faerytea.mapper.adapters.ParserBoolean;
+import com.gitlab.faerytea.mapper.annotations.DefaultParser;
+import com.gitlab.faerytea.mapper.annotations.Instance;
+
+import java.io.IOException;
+
+@DefaultParser
+public class BooleanParser implements ParserBoolean<Utf8Input> {
+    @Instance
+    public static final BooleanParser INSTANCE = new BooleanParser();
+
+    @Override
+    public boolean toObject(Utf8Input source) throws IOException {
+        try {
+            return source.getBoolean();
+        } finally {
+            source.nextToken();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.gitlab.faerytea.mapper.jackson.utf8;
+
+import com.gitlab.faerytea.mapper.adapters.SerializerBoolean;
+import com.gitlab.faerytea.mapper.annotations.DefaultSerializer;
+import com.gitlab.faerytea.mapper.annotations.Instance;
+
+@DefaultSerializer
+public class BooleanSerializer implements SerializerBoolean<Utf8Output> {
+    @Instance
+    public static final BooleanSerializer INSTANCE = new BooleanSerializer();
+
+    @Override
+    public void write(boolean object, Utf8Output to) {
+        to.writeBoolean(object);
+    }
+}
@@ -0,0 +1,47 @@
+package com.gitlab.faerytea.mapper.jackson.utf8;
+
+import com.gitlab.faerytea.mapper.adapters.CollectionsSerializer;
+import com.gitlab.faerytea.mapper.adapters.Serializer;
+import com.gitlab.faerytea.mapper.annotations.DefaultSerializer;
+import com.gitlab.faerytea.mapper.annotations.Instance;
+
+import java.io.IOException;
+import java.util.Collection;
+
+// serves List, ArrayList and Set
+@DefaultSerializer
+public class CollectionSerializer implements CollectionsSerializer<Collection, Utf8Output> {
+    @Instance
+    public static final CollectionSerializer INSTANCE = new CollectionSerializer();
+
+    @Override
+    public <T> void write(Collection object, Utf8Output to, Serializer<T, Utf8Output> itemSerializer) throws IOException {
+        if (object == null) {
+            to.writeNull();
+            return;
+        }
+        to.writeByte('[');
+        boolean first = true;
+        @SuppressWarnings("unchecked")
+        Collection<T> actual = object;
+        for (T i : actual) {
+            if (first) {
+                first = false;
+            } else {
+                to.writeByte(',');
+            }
+            itemSerializer.write(i, to);
+        }
+        to.writeByte(']');
+    }
+
+    @Override
+    public <T> Serializer<Collection<T>, Utf8Output> apply(final Serializer<T, Utf8Output> itemSerializer) {
+        return new Serializer<Collection<T>, Utf8Output>() {
+            @Override
+            public void write(Collection<T> object, Utf8Output to) throws IOException {
+                CollectionSerializer.this.write(object, to, itemSerializer);
+            }
+        };
+    }
+}
@@ -0,0 +1,37 @@
+package com.gitlab.faerytea.mapper.jackson.utf8;
+
+import com.gitlab.faerytea.mapper.adapters.Parser;
+import com.gitlab.faerytea.mapper.annotations.DefaultParser;
+import com.gitlab.faerytea.mapper.annotations.Instance;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+@DefaultParser
+public class DoubleArrayParser implements Parser<double[], Utf8Input> {
+    @Instance
+    public static final DoubleArrayParser INSTANCE = new DoubleArrayParser();
+    private static final double[] EMPTY = new double[0];
+
+    @Override
+    public double[] toObject(Utf8Input source) throws IOException {
+        final Utf8Input.Token open = source.currentToken();
+        if (open == Utf8Input.Token.NULL) {
+            source.nextToken();
+            return null;
+        }
+        if (open != Utf8Input.Token.START_ARRAY) throw source.error("expected array, got " + open);
+        if (source.nextToken() == Utf8Input.Token.END_ARRAY) {
+            source.nextToken();
+            return EMPTY;
+        }
+        double[] res = new double[16];
+        int size = 0;
+        do {
+            if (size == res.length) res = Arrays.copyOf(res, size << 1);
+            res[size++] = source.getDouble();
+        } while (source.nextToken() != Utf8Input.Token.END_ARRAY);
+        source.nextToken();
+        return size == res.length ? res : Arrays.copyOf(res, size);
+    }
+}
@@ -0,0 +1,25 @@
+package com.gitlab.faerytea.mapper.jackson.utf8;
+
+import com.gitlab.faerytea.mapper.adapters.Serializer;
+import com.gitlab.faerytea.mapper.annotations.DefaultSerializer;
+import com.gitlab.faerytea.mapper.annotations.Instance;
+
+@DefaultSerializer
+public class DoubleArraySerializer implements Serializer<double[], Utf8Output> {
+    @Instance
+    public static final DoubleArraySerializer INSTANCE = new DoubleArraySerializer();
+
+    @Override
+    public void write(double[] object, Utf8Output to) {
+        if (object == null) {
+            to.writeNull();
+            return;
+        }
+        to.writeByte('[');
+        for (int i = 0; i < object.length; ++i) {
+            if (i != 0) to.writeByte(',');
+            to.writeDouble(object[i]);
+        }
+        to.writeByte(']');
+    }
+}
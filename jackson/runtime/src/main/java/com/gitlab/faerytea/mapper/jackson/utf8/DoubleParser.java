@@ -0,0 +1,22 @@
+package com.gitlab.faerytea.mapper.jackson.utf8;
+
+import com.gitlab.faerytea.mapper.adapters.ParserDouble;
+import com.gitlab.faerytea.mapper.annotations.DefaultParser;
+import com.gitlab.faerytea.mapper.annotations.Instance;
+
+import java.io.IOException;
+
+@DefaultParser
+public class DoubleParser implements ParserDouble<Utf8Input> {
+    @Instance
+    public static final DoubleParser INSTANCE = new DoubleParser();
+
+    @Override
+    public double toObject(Utf8Input source) throws IOException {
+        try {
+            return source.getDouble();
+        } finally {
+            source.nextToken();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.gitlab.faerytea.mapper.jackson.utf8;
+
+import com.gitlab.faerytea.mapper.adapters.SerializerDouble;
+import com.gitlab.faerytea.mapper.annotations.DefaultSerializer;
+import com.gitlab.faerytea.mapper.annotations.Instance;
+
+@DefaultSerializer
+public class DoubleSerializer implements SerializerDouble<Utf8Output> {
+    @Instance
+    public static final DoubleSerializer INSTANCE = new DoubleSerializer();
+
+    @Override
+    public void write(double object, Utf8Output to) {
+        to.writeDouble(object);
+    }
+}
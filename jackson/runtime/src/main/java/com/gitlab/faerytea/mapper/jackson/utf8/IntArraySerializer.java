@@ -0,0 +1,25 @@
+package com.gitlab.faerytea.mapper.jackson.utf8;
+
+import com.gitlab.faerytea.mapper.adapters.Serializer;
+import com.gitlab.faerytea.mapper.annotations.DefaultSerializer;
+import com.gitlab.faerytea.mapper.annotations.Instance;
+
+@DefaultSerializer
+public class IntArraySerializer implements Serializer<int[], Utf8Output> {
+    @Instance
+    public static final IntArraySerializer INSTANCE = new IntArraySerializer();
+
+    @Override
+    public void write(int[] object, Utf8Output to) {
+        if (object == null) {
+            to.writeNull();
+            return;
+        }
+        to.writeByte('[');
+        for (int i = 0; i < object.length; ++i) {
+            if (i != 0) to.writeByte(',');
+            to.writeInt(object[i]);
+        }
+        to.writeByte(']');
+    }
+}
@@ -0,0 +1,22 @@
+package com.gitlab.faerytea.mapper.jackson.utf8;
+
+import com.gitlab.faerytea.mapper.adapters.ParserInt;
+import com.gitlab.faerytea.mapper.annotations.DefaultParser;
+import com.gitlab.faerytea.mapper.annotations.Instance;
+
+import java.io.IOException;
+
+@DefaultParser
+public class IntParser implements ParserInt<Utf8Input> {
+    @Instance
+    public static final IntParser INSTANCE = new IntParser();
+
+    @Override
+    public int toObject(Utf8Input source) throws IOException {
+        try {
+            return source.getInt();
+        } finally {
+            source.nextToken();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.gitlab.faerytea.mapper.jackson.utf8;
+
+import com.gitlab.faerytea.mapper.adapters.SerializerInt;
+import com.gitlab.faerytea.mapper.annotations.DefaultSerializer;
+import com.gitlab.faerytea.mapper.annotations.Instance;
+
+@DefaultSerializer
+public class IntSerializer implements SerializerInt<Utf8Output> {
+    @Instance
+    public static final IntSerializer INSTANCE = new IntSerializer();
+
+    @Override
+    public void write(int object, Utf8Output to) {
+        to.writeInt(object);
+    }
+}
@@ -0,0 +1,22 @@
+package com.gitlab.faerytea.mapper.jackson.utf8;
+
+import com.gitlab.faerytea.mapper.adapters.ParserLong;
+import com.gitlab.faerytea.mapper.annotations.DefaultParser;
+import com.gitlab.faerytea.mapper.annotations.Instance;
+
+import java.io.IOException;
+
+@DefaultParser
+public class LongParser implements ParserLong<Utf8Input> {
+    @Instance
+    public static final LongParser INSTANCE = new LongParser();
+
+    @Override
+    public long toObject(Utf8Input source) throws IOException {
+        try {
+            return source.getLong();
+        } finally {
+            source.nextToken();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.gitlab.faerytea.mapper.jackson.utf8;
+
+import com.gitlab.faerytea.mapper.adapters.SerializerLong;
+import com.gitlab.faerytea.mapper.annotations.DefaultSerializer;
+import com.gitlab.faerytea.mapper.annotations.Instance;
+
+@DefaultSerializer
+public class LongSerializer implements SerializerLong<Utf8Output> {
+    @Instance
+    public static final LongSerializer INSTANCE = new LongSerializer();
+
+    @Override
+    public void write(long object, Utf8Output to) {
+        to.writeLong(object);
+    }
+}
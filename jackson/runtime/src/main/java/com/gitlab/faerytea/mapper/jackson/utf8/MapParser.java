@@ -0,0 +1,45 @@
+package com.gitlab.faerytea.mapper.jackson.utf8;
+
+import com.gitlab.faerytea.mapper.adapters.Parser;
+import com.gitlab.faerytea.mapper.annotations.DefaultParser;
+import com.gitlab.faerytea.mapper.annotations.Instance;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+// keys are parsed from property names, so key parser must read text
+// (e.g. StringParser, probably with converter)
+@DefaultParser
+public class MapParser {
+    @Instance
+    public static final MapParser INSTANCE = new MapParser();
+
+    public <K, V> Map<K, V> toObject(Utf8Input in, Parser<K, Utf8Input> keyParser, Parser<V, Utf8Input> valueParser) throws IOException {
+        final Utf8Input.Token open = in.currentToken();
+        if (open == Utf8Input.Token.NULL) {
+            in.nextToken();
+            return null;
+        }
+        if (open != Utf8Input.Token.START_OBJECT) throw in.error("expected object, got " + open);
+        in.nextToken();
+        final Map<K, V> res = new HashMap<K, V>();
+        while (in.currentToken() == Utf8Input.Token.FIELD_NAME) {
+            final K key = keyParser.toObject(in);
+            res.put(key, valueParser.toObject(in));
+        }
+        if (in.currentToken() != Utf8Input.Token.END_OBJECT) throw in.error("expected end of object, got " + in.currentToken());
+        in.nextToken();
+        return res;
+    }
+
+    public <K, V> Parser<Map<K, V>, Utf8Input> apply(final Parser<K, Utf8Input> keyParser,
+                                                    final Parser<V, Utf8Input> valueParser) {
+        return new Parser<Map<K, V>, Utf8Input>() {
+            @Override
+            public Map<K, V> toObject(Utf8Input source) throws IOException {
+                return MapParser.this.toObject(source, keyParser, valueParser);
+            }
+        };
+    }
+}
@@ -0,0 +1,45 @@
+package com.gitlab.faerytea.mapper.jackson.utf8;
+
+import com.gitlab.faerytea.mapper.adapters.Serializer;
+import com.gitlab.faerytea.mapper.annotations.DefaultSerializer;
+import com.gitlab.faerytea.mapper.annotations.Instance;
+
+import java.io.IOException;
+import java.util.Map;
+
+// key serializer must write JSON string (e.g. StringSerializer, probably with converter)
+@DefaultSerializer
+public class MapSerializer {
+    @Instance
+    public static final MapSerializer INSTANCE = new MapSerializer();
+
+    public <K, V> void write(Map<K, V> object, Utf8Output to, Serializer<K, Utf8Output> keySerializer, Serializer<V, Utf8Output> valueSerializer) throws IOException {
+        if (object == null) {
+            to.writeNull();
+            return;
+        }
+        to.writeByte('{');
+        boolean first = true;
+        for (Map.Entry<K, V> e : object.entrySet()) {
+            if (first) {
+                first = false;
+            } else {
+                to.writeByte(',');
+            }
+            keySerializer.write(e.getKey(), to);
+            to.writeByte(':');
+            valueSerializer.write(e.getValue(), to);
+        }
+        to.writeByte('}');
+    }
+
+    public <K, V> Serializer<Map<K, V>, Utf8Output> apply(final Serializer<K, Utf8Output> keySerializer,
+                                                         final Serializer<V, Utf8Output> valueSerializer) {
+        return new Serializer<Map<K, V>, Utf8Output>() {
+            @Override
+            public void write(Map<K, V> object, Utf8Output to) throws IOException {
+                MapSerializer.this.write(object, to, keySerializer, valueSerializer);
+            }
+        };
+    }
+}
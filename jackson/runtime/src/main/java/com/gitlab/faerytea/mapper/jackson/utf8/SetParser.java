@@ -0,0 +1,43 @@
+package com.gitlab.faerytea.mapper.jackson.utf8;
+
+import com.gitlab.faerytea.mapper.adapters.CollectionsParser;
+import com.gitlab.faerytea.mapper.adapters.Parser;
+import com.gitlab.faerytea.mapper.annotations.DefaultParser;
+import com.gitlab.faerytea.mapper.annotations.Instance;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+@DefaultParser
+public class SetParser implements CollectionsParser<Set, Utf8Input> {
+    @Instance
+    public static final SetParser INSTANCE = new SetParser();
+
+    @Override
+    public <T> Set<T> toObject(Utf8Input source, Parser<T, Utf8Input> itemParser) throws IOException {
+        final Utf8Input.Token open = source.currentToken();
+        if (open == Utf8Input.Token.NULL) {
+            source.nextToken();
+            return null;
+        }
+        if (open != Utf8Input.Token.START_ARRAY) throw source.error("expected array, got " + open);
+        final Set<T> res = new HashSet<T>();
+        source.nextToken();
+        while (source.currentToken() != Utf8Input.Token.END_ARRAY) {
+            res.add(itemParser.toObject(source));
+        }
+        source.nextToken();
+        return res;
+    }
+
+    @Override
+    public <T> Parser<Set<T>, Utf8Input> apply(final Parser<T, Utf8Input> itemParser) {
+        return new Parser<Set<T>, Utf8Input>() {
+            @Override
+            public Set<T> toObject(Utf8Input source) throws IOException {
+                return SetParser.this.toObject(source, itemParser);
+            }
+        };
+    }
+}
@@ -0,0 +1,16 @@
+package com.gitlab.faerytea.mapper.jackson.utf8;
+
+import com.gitlab.faerytea.mapper.adapters.UnknownPropertyHandler;
+import com.gitlab.faerytea.mapper.annotations.Instance;
+
+import java.io.IOException;
+
+public class SkipUnknown implements UnknownPropertyHandler<Utf8Input> {
+    @Instance
+    public static final SkipUnknown INSTANCE = new SkipUnknown();
+
+    @Override
+    public void handle(String name, Utf8Input currentInput) throws IOException {
+        currentInput.skipValue();
+    }
+}
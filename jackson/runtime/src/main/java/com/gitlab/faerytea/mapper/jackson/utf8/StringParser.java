@@ -0,0 +1,22 @@
+package com.gitlab.faerytea.mapper.jackson.utf8;
+
+import com.gitlab.faerytea.mapper.adapters.Parser;
+import com.gitlab.faerytea.mapper.annotations.DefaultParser;
+import com.gitlab.faerytea.mapper.annotations.Instance;
+
+import java.io.IOException;
+
+@DefaultParser
+public class StringParser implements Parser<String, Utf8Input> {
+    @Instance
+    public static final StringParser INSTANCE = new StringParser();
+
+    @Override
+    public String toObject(Utf8Input source) throws IOException {
+        try {
+            return source.currentToken() == Utf8Input.Token.NULL ? null : source.getText();
+        } finally {
+            source.nextToken();
+        }
+    }
+}
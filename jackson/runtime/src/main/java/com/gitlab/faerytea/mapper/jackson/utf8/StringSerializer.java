@@ -0,0 +1,20 @@
+package com.gitlab.faerytea.mapper.jackson.utf8;
+
+import com.gitlab.faerytea.mapper.adapters.Serializer;
+import com.gitlab.faerytea.mapper.annotations.DefaultSerializer;
+import com.gitlab.faerytea.mapper.annotations.Instance;
+
+@DefaultSerializer
+public class StringSerializer implements Serializer<String, Utf8Output> {
+    @Instance
+    public static final StringSerializer INSTANCE = new StringSerializer();
+
+    @Override
+    public void write(String object, Utf8Output to) {
+        if (object == null) {
+            to.writeNull();
+        } else {
+            to.writeString(object);
+        }
+    }
+}
@@ -0,0 +1,439 @@
+package com.gitlab.faerytea.mapper.jackson.utf8;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+// Pull reader over UTF-8 bytes for generated parsers. Follows JsonParser's
+// conventions: currentToken() is the token being consumed, nextToken()
+// moves forward, null token means end of input. Strings and numbers are
+// decoded only on request; property names are matched on raw bytes
+// against precomputed Names. Validation is minimal. Not thread-safe.
+public class Utf8Input {
+    public enum Token {
+        START_OBJECT, END_OBJECT, START_ARRAY, END_ARRAY, FIELD_NAME, STRING, NUMBER, TRUE, FALSE, NULL
+    }
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+    // exactly representable powers of ten
+    private static final double[] POW10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    // Property names of single class, encoded once.
+    // find returns the very same String instance which was passed
+    // to constructor, so generated code may compare names by identity.
+    public static final class Names {
+        private final byte[][] encoded;
+        private final String[] names;
+        private final int mask;
+
+        public Names(String... names) {
+            int size = 4;
+            while (size < names.length * 2) size <<= 1;
+            this.mask = size - 1;
+            this.encoded = new byte[size][];
+            this.names = new String[size];
+            for (String name : names) {
+                final byte[] bytes = name.getBytes(UTF8);
+                int i = hash(bytes, 0, bytes.length) & mask;
+                while (this.encoded[i] != null) i = (i + 1) & mask;
+                this.encoded[i] = bytes;
+                this.names[i] = name;
+            }
+        }
+
+        String find(byte[] buf, int offset, int length) {
+            for (int i = hash(buf, offset, length) & mask; encoded[i] != null; i = (i + 1) & mask) {
+                final byte[] candidate = encoded[i];
+                if (candidate.length == length && same(candidate, buf, offset)) return names[i];
+            }
+            return null;
+        }
+
+        private static boolean same(byte[] candidate, byte[] buf, int offset) {
+            for (int i = 0; i < candidate.length; ++i) {
+                if (candidate[i] != buf[offset + i]) return false;
+            }
+            return true;
+        }
+
+        // cheap: length and bytes at both ends
+        private static int hash(byte[] buf, int offset, int length) {
+            if (length == 0) return 0;
+            final int h = length * 31 + buf[offset] * 17 + buf[offset + length - 1] + buf[offset + (length >> 1)] * 7;
+            return h ^ (h >>> 4);
+        }
+    }
+
+    private final byte[] buf;
+    private final int end;
+    private int pos;
+    private Token token;
+    // bounds of current string (without quotes) or number
+    private int start;
+    private int stop;
+    private boolean escaped;
+    // one bit per nesting level: 1 for object, 0 for array
+    private long[] contexts = new long[1];
+    private int depth;
+    private boolean expectName;
+
+    public Utf8Input(byte[] data) {
+        this(data, 0, data.length);
+    }
+
+    public Utf8Input(byte[] data, int offset, int length) {
+        this.buf = data;
+        this.pos = offset;
+        this.end = offset + length;
+    }
+
+    // consumes remaining bytes of buffer
+    public static Utf8Input of(ByteBuffer data) {
+        final Utf8Input res;
+        if (data.hasArray()) {
+            res = new Utf8Input(data.array(), data.arrayOffset() + data.position(), data.remaining());
+            data.position(data.limit());
+        } else {
+            final byte[] copy = new byte[data.remaining()];
+            data.get(copy);
+            res = new Utf8Input(copy);
+        }
+        return res;
+    }
+
+    // bytes consumed so far, counting from start of data array
+    public int position() {
+        return pos;
+    }
+
+    public Token currentToken() {
+        return token;
+    }
+
+    public Token nextToken() throws IOException {
+        int p = skipWhitespace(pos);
+        if (p < end && buf[p] == ',') {
+            p = skipWhitespace(p + 1);
+            expectName = depth > 0 && inObject();
+        }
+        if (p >= end) {
+            pos = p;
+            return token = null;
+        }
+        switch (buf[p]) {
+            case '{':
+                push(true);
+                expectName = true;
+                pos = p + 1;
+                return token = Token.START_OBJECT;
+            case '}':
+                pop();
+                pos = p + 1;
+                return token = Token.END_OBJECT;
+            case '[':
+                push(false);
+                expectName = false;
+                pos = p + 1;
+                return token = Token.START_ARRAY;
+            case ']':
+                pop();
+                pos = p + 1;
+                return token = Token.END_ARRAY;
+            case '"':
+                p = readString(p + 1);
+                if (expectName) {
+                    expectName = false;
+                    p = skipWhitespace(p);
+                    if (p >= end || buf[p] != ':') throw error("expected ':'", p);
+                    pos = p + 1;
+                    return token = Token.FIELD_NAME;
+                }
+                pos = p;
+                return token = Token.STRING;
+            case 't':
+                pos = literal(p, "true");
+                return token = Token.TRUE;
+            case 'f':
+                pos = literal(p, "false");
+                return token = Token.FALSE;
+            case 'n':
+                pos = literal(p, "null");
+                return token = Token.NULL;
+            default:
+                pos = readNumber(p);
+                return token = Token.NUMBER;
+        }
+    }
+
+    // Name of current property matched against known names without decoding;
+    // moves to its value. Returns null if current token is not a name.
+    public String nextName(Names names) throws IOException {
+        if (token != Token.FIELD_NAME) return null;
+        String res = escaped ? null : names.find(buf, start, stop - start);
+        if (res == null) res = getText();
+        nextToken();
+        return res;
+    }
+
+    public String nextName() throws IOException {
+        if (token != Token.FIELD_NAME) return null;
+        final String res = getText();
+        nextToken();
+        return res;
+    }
+
+    // skips current value (with children) and moves to the next token
+    public void skipValue() throws IOException {
+        if (token == Token.START_OBJECT || token == Token.START_ARRAY) {
+            final int target = depth - 1;
+            while (depth != target) {
+                if (nextToken() == null) throw error("unexpected end of input", pos);
+            }
+        }
+        nextToken();
+    }
+
+    public String getText() throws IOException {
+        if (token == null) return null;
+        switch (token) {
+            case FIELD_NAME:
+            case STRING:
+                return escaped ? unescape() : new String(buf, start, stop - start, UTF8);
+            case NUMBER:
+                return ascii();
+            case TRUE:
+                return "true";
+            case FALSE:
+                return "false";
+            case NULL:
+                return "null";
+            default:
+                throw error("expected scalar, got " + token, start);
+        }
+    }
+
+    public boolean getBoolean() throws IOException {
+        if (token == Token.TRUE) return true;
+        if (token == Token.FALSE) return false;
+        throw error("expected boolean, got " + token, pos);
+    }
+
+    public int getInt() throws IOException {
+        final long res = getLong();
+        if (res < Integer.MIN_VALUE || res > Integer.MAX_VALUE) throw error("int overflow: " + res, start);
+        return (int) res;
+    }
+
+    public long getLong() throws IOException {
+        requireNumber();
+        int p = start;
+        final boolean negative = buf[p] == '-';
+        if (negative) ++p;
+        if (stop - p > 18) {
+            try {
+                return Long.parseLong(ascii());
+            } catch (NumberFormatException e) {
+                return (long) parseSlow();
+            }
+        }
+        long res = 0;
+        for (; p < stop; ++p) {
+            final int d = buf[p] - '0';
+            if (d < 0 || d > 9) return (long) getDouble();
+            res = res * 10 + d;
+        }
+        return negative ? -res : res;
+    }
+
+    public double getDouble() throws IOException {
+        requireNumber();
+        int p = start;
+        final boolean negative = buf[p] == '-';
+        if (negative) ++p;
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        for (; p < stop && buf[p] >= '0' && buf[p] <= '9'; ++p) {
+            mantissa = mantissa * 10 + (buf[p] - '0');
+            if (mantissa != 0) ++digits;
+        }
+        if (p < stop && buf[p] == '.') {
+            for (++p; p < stop && buf[p] >= '0' && buf[p] <= '9'; ++p) {
+                mantissa = mantissa * 10 + (buf[p] - '0');
+                if (mantissa != 0) ++digits;
+                --exponent;
+            }
+        }
+        if (p < stop && (buf[p] == 'e' || buf[p] == 'E')) {
+            ++p;
+            boolean negativeExp = false;
+            if (p < stop && (buf[p] == '-' || buf[p] == '+')) negativeExp = buf[p++] == '-';
+            int e = 0;
+            for (; p < stop && buf[p] >= '0' && buf[p] <= '9'; ++p) {
+                if (e < 10000) e = e * 10 + (buf[p] - '0');
+            }
+            exponent += negativeExp ? -e : e;
+        }
+        if (p != stop) throw error("bad number: " + ascii(), start);
+        // both mantissa and power of ten are exact, so single operation is correctly rounded
+        if (digits > 15 || exponent < -22 || exponent > 22) return parseSlow();
+        final double res = exponent < 0 ? mantissa / POW10[-exponent] : mantissa * POW10[exponent];
+        return negative ? -res : res;
+    }
+
+    public IOException error(String message) {
+        return error(message, pos);
+    }
+
+    private IOException error(String message, int at) {
+        return new IOException(message + " at byte " + at);
+    }
+
+    private void requireNumber() throws IOException {
+        if (token != Token.NUMBER) throw error("expected number, got " + token, pos);
+    }
+
+    private double parseSlow() throws IOException {
+        try {
+            return Double.parseDouble(ascii());
+        } catch (NumberFormatException e) {
+            throw error("bad number: " + ascii(), start);
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    private String ascii() {
+        return new String(buf, 0, start, stop - start);
+    }
+
+    private boolean inObject() {
+        final int level = depth - 1;
+        return (contexts[level >> 6] & (1L << level)) != 0;
+    }
+
+    private void push(boolean object) {
+        if ((depth >> 6) == contexts.length) contexts = Arrays.copyOf(contexts, contexts.length << 1);
+        if (object) {
+            contexts[depth >> 6] |= 1L << depth;
+        } else {
+            contexts[depth >> 6] &= ~(1L << depth);
+        }
+        ++depth;
+    }
+
+    private void pop() throws IOException {
+        if (depth == 0) throw error("unbalanced close", pos);
+        --depth;
+        expectName = false;
+    }
+
+    private int skipWhitespace(int p) {
+        while (p < end) {
+            final byte b = buf[p];
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t') break;
+            ++p;
+        }
+        return p;
+    }
+
+    private int readString(int p) throws IOException {
+        boolean esc = false;
+        int q = p;
+        while (true) {
+            if (q >= end) throw error("unterminated string", p);
+            final byte b = buf[q];
+            if (b == '"') break;
+            if (b == '\\') {
+                esc = true;
+                q += 2;
+            } else {
+                ++q;
+            }
+        }
+        start = p;
+        stop = q;
+        escaped = esc;
+        return q + 1;
+    }
+
+    private int readNumber(int p) throws IOException {
+        int q = p;
+        while (q < end) {
+            final byte b = buf[q];
+            if ((b >= '0' && b <= '9') || b == '-' || b == '+' || b == '.' || b == 'e' || b == 'E') {
+                ++q;
+            } else {
+                break;
+            }
+        }
+        if (q == p) throw error("unexpected character '" + (char) buf[p] + "'", p);
+        start = p;
+        stop = q;
+        return q;
+    }
+
+    private int literal(int p, String expected) throws IOException {
+        final int length = expected.length();
+        if (end - p < length) throw error("expected " + expected, p);
+        for (int i = 1; i < length; ++i) {
+            if (buf[p + i] != expected.charAt(i)) throw error("expected " + expected, p);
+        }
+        return p + length;
+    }
+
+    private String unescape() throws IOException {
+        final StringBuilder sb = new StringBuilder(stop - start);
+        int from = start;
+        int p = start;
+        while (p < stop) {
+            if (buf[p] != '\\') {
+                ++p;
+                continue;
+            }
+            if (p > from) sb.append(new String(buf, from, p - from, UTF8));
+            final byte e = buf[p + 1];
+            p += 2;
+            switch (e) {
+                case '"':
+                case '\\':
+                case '/':
+                    sb.append((char) e);
+                    break;
+                case 'b':
+                    sb.append('\b');
+                    break;
+                case 'f':
+                    sb.append('\f');
+                    break;
+                case 'n':
+                    sb.append('\n');
+                    break;
+                case 'r':
+                    sb.append('\r');
+                    break;
+                case 't':
+                    sb.append('\t');
+                    break;
+                case 'u':
+                    if (stop - p < 4) throw error("bad unicode escape", p);
+                    int c = 0;
+                    for (int i = 0; i < 4; ++i) {
+                        final int d = Character.digit(buf[p++], 16);
+                        if (d < 0) throw error("bad unicode escape", p);
+                        c = (c << 4) | d;
+                    }
+                    sb.append((char) c);
+                    break;
+                default:
+                    throw error("bad escape '\\" + (char) e + "'", p);
+            }
+            from = p;
+        }
+        if (stop > from) sb.append(new String(buf, from, stop - from, UTF8));
+        return sb.toString();
+    }
+}
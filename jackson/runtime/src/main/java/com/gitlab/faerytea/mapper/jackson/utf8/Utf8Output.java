@@ -0,0 +1,223 @@
+package com.gitlab.faerytea.mapper.jackson.utf8;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.util.Arrays;
+
+// Growable UTF-8 buffer for generated serializers: no contexts, no
+// validation, no pretty printing; constant parts of JSON are written
+// as pre-encoded byte arrays (see fieldName). Not thread-safe.
+public class Utf8Output {
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+    private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+    private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+    private static final byte[] HEX = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'};
+    // 0: as is, -1: hex escape, other: backslash + that char
+    private static final byte[] ESCAPES = new byte[128];
+
+    static {
+        Arrays.fill(ESCAPES, 0, 0x20, (byte) -1);
+        ESCAPES['\b'] = 'b';
+        ESCAPES['\t'] = 't';
+        ESCAPES['\n'] = 'n';
+        ESCAPES['\f'] = 'f';
+        ESCAPES['\r'] = 'r';
+        ESCAPES['"'] = '"';
+        ESCAPES['\\'] = '\\';
+    }
+
+    private byte[] buf;
+    private int size;
+
+    public Utf8Output() {
+        this(256);
+    }
+
+    public Utf8Output(int capacity) {
+        buf = new byte[Math.max(capacity, 16)];
+    }
+
+    // "name": as bytes, for constants in generated code
+    public static byte[] fieldName(String name) {
+        final Utf8Output out = new Utf8Output(name.length() + 3);
+        out.writeString(name);
+        out.writeByte(':');
+        return out.toByteArray();
+    }
+
+    public void writeByte(int b) {
+        ensure(1);
+        buf[size++] = (byte) b;
+    }
+
+    public void writeRaw(byte[] bytes) {
+        writeRaw(bytes, 0, bytes.length);
+    }
+
+    public void writeRaw(byte[] bytes, int offset, int length) {
+        ensure(length);
+        System.arraycopy(bytes, offset, buf, size, length);
+        size += length;
+    }
+
+    public void writeNull() {
+        writeRaw(NULL);
+    }
+
+    public void writeBoolean(boolean value) {
+        writeRaw(value ? TRUE : FALSE);
+    }
+
+    public void writeInt(int value) {
+        if (value == Integer.MIN_VALUE) {
+            writeLong(value);
+            return;
+        }
+        ensure(11);
+        if (value < 0) {
+            buf[size++] = '-';
+            value = -value;
+        }
+        int length = 1;
+        for (int rest = value; rest >= 10; rest /= 10) ++length;
+        size += length;
+        int pos = size;
+        do {
+            buf[--pos] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+    }
+
+    public void writeLong(long value) {
+        if (value >= Integer.MIN_VALUE + 1 && value <= Integer.MAX_VALUE) {
+            writeInt((int) value);
+            return;
+        }
+        if (value == Long.MIN_VALUE) {
+            writeAscii("-9223372036854775808");
+            return;
+        }
+        ensure(20);
+        if (value < 0) {
+            buf[size++] = '-';
+            value = -value;
+        }
+        int length = 1;
+        for (long rest = value; rest >= 10; rest /= 10) ++length;
+        size += length;
+        int pos = size;
+        do {
+            buf[--pos] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+    }
+
+    public void writeDouble(double value) {
+        if (value == (long) value && value != 0.0 && Math.abs(value) < 1e7) {
+            // integral values are common and cheap; Double.toString uses exponent from 1e7
+            writeLong((long) value);
+            writeByte('.');
+            writeByte('0');
+        } else if (Double.isNaN(value) || Double.isInfinite(value)) {
+            // same as JsonGenerator.Feature.QUOTE_NON_NUMERIC_NUMBERS
+            writeByte('"');
+            writeAscii(Double.toString(value));
+            writeByte('"');
+        } else {
+            writeAscii(Double.toString(value));
+        }
+    }
+
+    public void writeString(String value) {
+        final int length = value.length();
+        ensure(length + 2);
+        final byte[] b = buf;
+        int pos = size;
+        b[pos++] = '"';
+        int i = 0;
+        // ASCII without escapes is the common case, capacity is already reserved
+        for (; i < length; ++i) {
+            final char c = value.charAt(i);
+            if (c >= 0x80 || ESCAPES[c] != 0) break;
+            b[pos++] = (byte) c;
+        }
+        size = pos;
+        for (; i < length; ++i) {
+            final char c = value.charAt(i);
+            ensure(6 + 1);
+            if (c < 0x80) {
+                final byte escape = ESCAPES[c];
+                if (escape == 0) {
+                    buf[size++] = (byte) c;
+                } else if (escape > 0) {
+                    buf[size++] = '\\';
+                    buf[size++] = escape;
+                } else {
+                    buf[size++] = '\\';
+                    buf[size++] = 'u';
+                    buf[size++] = '0';
+                    buf[size++] = '0';
+                    buf[size++] = HEX[c >> 4];
+                    buf[size++] = HEX[c & 0xF];
+                }
+            } else if (c < 0x800) {
+                buf[size++] = (byte) (0xC0 | (c >> 6));
+                buf[size++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                final int cp = Character.toCodePoint(c, value.charAt(++i));
+                buf[size++] = (byte) (0xF0 | (cp >> 18));
+                buf[size++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                buf[size++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                buf[size++] = (byte) (0x80 | (cp & 0x3F));
+            } else if (c >= Character.MIN_SURROGATE && c <= Character.MAX_SURROGATE) {
+                throw new IllegalArgumentException("unpaired surrogate at " + i);
+            } else {
+                buf[size++] = (byte) (0xE0 | (c >> 12));
+                buf[size++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buf[size++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        ensure(1);
+        buf[size++] = '"';
+    }
+
+    private void writeAscii(String s) {
+        final int length = s.length();
+        ensure(length);
+        for (int i = 0; i < length; ++i) {
+            buf[size++] = (byte) s.charAt(i);
+        }
+    }
+
+    private void ensure(int more) {
+        if (size + more > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length << 1, size + more));
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void reset() {
+        size = 0;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buf, size);
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buf, 0, size);
+    }
+
+    @Override
+    public String toString() {
+        try {
+            return new String(buf, 0, size, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
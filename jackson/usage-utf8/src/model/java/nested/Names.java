@@ -0,0 +1,25 @@
+package nested;
+
+import com.gitlab.faerytea.mapper.annotations.Mappable;
+import com.gitlab.faerytea.mapper.annotations.Property;
+import com.gitlab.faerytea.mapper.annotations.PutOnTypeArguments;
+import com.gitlab.faerytea.mapper.converters.Convert;
+
+import java.util.ArrayList;
+
+// converter on nested type argument: adapters get fields
+// of applied parsers and serializers with wrapped arguments
+@Mappable
+public class Names {
+    @PutOnTypeArguments({
+            @PutOnTypeArguments.OnArg(false),
+            @PutOnTypeArguments.OnArg(convert = @Convert(Caster.class))})
+    @Property
+    public ArrayList<ArrayList<CharSequence>> groups;
+    @PutOnTypeArguments({
+            @PutOnTypeArguments.OnArg(false),
+            @PutOnTypeArguments.OnArg(false),
+            @PutOnTypeArguments.OnArg(convert = @Convert(Caster.class))})
+    @Property
+    public ArrayList<ArrayList<ArrayList<CharSequence>>> tripleList;
+}
@@ -0,0 +1,25 @@
+package nested;
+
+import com.gitlab.faerytea.mapper.jackson.utf8.Utf8Input;
+import com.gitlab.faerytea.mapper.jackson.utf8.Utf8Output;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public class ReaderMain {
+    public static void main(String[] args) throws Exception {
+        Names n = new Names();
+        n.groups = new ArrayList<>(Arrays.asList(new ArrayList<CharSequence>(Arrays.asList("a", "b")), new ArrayList<CharSequence>()));
+        n.tripleList = new ArrayList<>();
+        n.tripleList.add(new ArrayList<>(Arrays.asList(new ArrayList<CharSequence>(Arrays.asList("x")))));
+        Utf8Output out = new Utf8Output(256);
+        NamesAdapter.Holder.INSTANCE.write(n, out);
+        byte[] bytes = out.toByteArray();
+        String json = new String(bytes, "UTF-8");
+        System.out.println(json);
+        Utf8Input in = new Utf8Input(bytes);
+        in.nextToken();
+        Names back = NamesAdapter.Holder.INSTANCE.toObject(in);
+        System.out.println(back.groups + " " + back.tripleList);
+    }
+}
@@ -88,6 +88,11 @@ public class Main {
             System.out.println(got.toString());
             System.out.println("--- end of object ---");
             System.out.println("equals? " + test.equals(got));
+            final JsonParser summaryParser = jsonFactory.createParser(arr);
+            summaryParser.nextToken();
+            final Test summary = TestAdapter.Projection_summary.INSTANCE.toObject(summaryParser);
+            System.out.println("summary: " + summary.first + ", " + summary.namedProperty
+                    + (summary.inner == null ? " (inner is skipped)" : ""));
         } catch (Throwable t) {
             t.printStackTrace();
         }
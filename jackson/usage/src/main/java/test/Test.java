@@ -2,6 +2,7 @@ package test;
 
 import com.gitlab.faerytea.mapper.annotations.Default;
 import com.gitlab.faerytea.mapper.annotations.Mappable;
+import com.gitlab.faerytea.mapper.annotations.Projection;
 import com.gitlab.faerytea.mapper.annotations.Property;
 import com.gitlab.faerytea.mapper.annotations.PutOnTypeArguments;
 import com.gitlab.faerytea.mapper.converters.Convert;
@@ -22,7 +23,7 @@ import test.some.Test6;
 import test.some.TestShape;
 import unknown.BlowUp;
 
-@Mappable(onUnknown = BlowUp.class)
+@Mappable(onUnknown = BlowUp.class, projections = @Projection(name = "summary", value = {"first", "named_property"}))
 public class Test {
     @Property
     public String first;